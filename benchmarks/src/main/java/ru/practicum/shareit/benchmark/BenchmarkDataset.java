@@ -0,0 +1,161 @@
+package ru.practicum.shareit.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A server context started against a freshly seeded database.
+ * <p>
+ * {@code h2} runs the test profile in memory, {@code postgresql} starts an in-process
+ * PostgreSQL instance and migrates it with the production scripts, full-text search included.
+ * User {@link #OWNER_ID} owns every {@link #USERS}-th item, so owner queries see roughly
+ * {@code bookings / USERS} rows whatever the dataset size.
+ */
+public final class BenchmarkDataset implements AutoCloseable {
+
+    public static final long OWNER_ID = 1L;
+
+    static final int USERS = 100;
+
+    private static final BookingStatus[] STATUSES = {
+            BookingStatus.APPROVED, BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED
+    };
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDataset(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    public static BenchmarkDataset start(String database, int bookings) throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn",
+                "--logging.level.org.hibernate.SQL=warn",
+                "--logging.level.org.hibernate.type.descriptor.sql=warn",
+                "--logging.level.org.springframework.transaction.interceptor=warn",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=warn"
+        ));
+        EmbeddedPostgres postgres = null;
+        switch (database) {
+            case "h2":
+                args.add("--spring.profiles.active=test");
+                args.add("--spring.datasource.url=jdbc:h2:mem:benchmark");
+                break;
+            case "postgresql":
+                postgres = EmbeddedPostgres.start();
+                args.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+                args.add("--spring.datasource.username=postgres");
+                args.add("--spring.datasource.password=");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown database: " + database);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        seed(context.getBean(JdbcTemplate.class), bookings);
+        return new BenchmarkDataset(postgres, context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int bookings) {
+        int items = Math.max(USERS, bookings / 10);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            userRows.add(new Object[]{id, "user" + id, "user" + id + "@mail.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", userRows);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (long id = 1; id <= items; id++) {
+            itemRows.add(new Object[]{
+                    id,
+                    (id % 5 == 0 ? "Drill " : "Hammer ") + id,
+                    "Tool number " + id + (id % 3 == 0 ? " with a cordless drill" : ""),
+                    id % 7 != 0,
+                    ownerOf(id)
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into items (id, name, description, available, owner_id) values (?, ?, ?, ?, ?)", itemRows);
+        jdbcTemplate.execute("alter sequence items_seq restart with " + (items + 1));
+
+        List<Object[]> bookingRows = new ArrayList<>();
+        Set<Long> itemsBookedNow = new HashSet<>();
+        for (long id = 1; id <= bookings; id++) {
+            long itemId = (id - 1) % items + 1;
+            long round = (id - 1) / items;
+            BookingStatus status = STATUSES[(int) (id % STATUSES.length)];
+            LocalDateTime start;
+            switch ((int) (id % 3)) {
+                case 0:
+                    start = now.minusDays(10 + 2 * round);
+                    break;
+                case 1:
+                    start = now.minusDays(1);
+                    // approved bookings of one item must not overlap, and every current one does
+                    if (status == BookingStatus.APPROVED && !itemsBookedNow.add(itemId)) {
+                        status = BookingStatus.WAITING;
+                    }
+                    break;
+                default:
+                    start = now.plusDays(1 + 2 * round);
+            }
+            start = start.plusMinutes(id % 720);
+            bookingRows.add(new Object[]{
+                    id,
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusDays(1).plusHours(1)),
+                    itemId,
+                    ownerOf(itemId) % USERS + 1,
+                    status.name()
+            });
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date_time, end_date_time, item_id, booker_id, "
+                + "status) values (?, ?, ?, ?, ?, ?)", bookingRows);
+
+        List<Object[]> commentRows = new ArrayList<>();
+        for (long id = 1; id <= items / 2; id++) {
+            long itemId = id * 2;
+            commentRows.add(new Object[]{id, "Comment " + id, itemId, ownerOf(itemId) % USERS + 1,
+                    Timestamp.valueOf(now.minusDays(5))});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)", commentRows);
+
+        jdbcTemplate.execute("analyze");
+    }
+
+    private static long ownerOf(long itemId) {
+        return (itemId - 1) % USERS + 1;
+    }
+}
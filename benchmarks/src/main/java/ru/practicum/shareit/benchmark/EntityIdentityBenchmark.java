@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.MessageFormatter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of the entity {@code equals}, {@code hashCode} and {@code toString} on a detached graph: bookings
+ * whose items carry {@code comments} comments each, the way a loaded item list looks after {@code setComments}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityIdentityBenchmark {
+
+    private static final int BOOKINGS = 100;
+
+    @Param({"20"})
+    public int comments;
+
+    private List<Booking> bookings;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@mail.com");
+        User booker = new User(2L, "booker", "booker@mail.com");
+        bookings = new ArrayList<>();
+        for (long id = 1; id <= BOOKINGS; id++) {
+            Item item = new Item(id, "Drill " + id, "Cordless drill", true, owner, null, null, null,
+                    new ArrayList<>(), new ArrayList<>());
+            for (long commentId = 1; commentId <= comments; commentId++) {
+                item.getLoadedComments().add(new Comment(id * comments + commentId, "Works fine", item, booker, now));
+            }
+            bookings.add(new Booking(id, now.plusDays(id), now.plusDays(id + 1), item, booker,
+                    BookingStatus.APPROVED));
+        }
+        booking = bookings.get(0);
+    }
+
+    /**
+     * What {@code log.info("... {}", booking)} spends formatting its argument once the level is enabled.
+     */
+    @Benchmark
+    public String logBooking() {
+        return MessageFormatter.format("Booking {}", booking).getMessage();
+    }
+
+    @Benchmark
+    public Set<Booking> hashSetOfBookings() {
+        return new HashSet<>(bookings);
+    }
+
+    @Benchmark
+    public boolean containsBooking() {
+        return bookings.contains(bookings.get(BOOKINGS - 1));
+    }
+}
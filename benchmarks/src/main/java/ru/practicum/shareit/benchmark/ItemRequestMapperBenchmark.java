@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestMapperBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int items;
+
+    private final ItemRequestMapper itemRequestMapper = new ItemRequestMapper();
+
+    private ItemRequest itemRequest;
+
+    @Setup
+    public void setUp() {
+        User requestor = new User(1L, "requestor", "requestor@mail.com");
+        User owner = new User(2L, "owner", "owner@mail.com");
+        itemRequest = new ItemRequest(1L, "Need a drill", requestor, LocalDateTime.now(), new ArrayList<>());
+        for (long id = 1; id <= items; id++) {
+            itemRequest.getItems().add(new Item(id, "Drill " + id, "Cordless drill", true, owner, itemRequest,
+                    null, null, List.of(), null));
+        }
+    }
+
+    @Benchmark
+    public ItemRequestDto toItemRequestDto() {
+        return itemRequestMapper.toItemRequestDto(itemRequest);
+    }
+}
@@ -6,7 +6,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.Valid;
@@ -25,42 +28,75 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader(HEADER_USER_ID) long userId,
-                                                @Valid @RequestBody BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader(HEADER_USER_ID) long userId,
+                                                      @Valid @RequestBody BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.createBooking(userId, requestDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> setApproved(@RequestHeader(HEADER_USER_ID) long userId,
-                                              @PathVariable long bookingId,
-                                              @RequestParam boolean approved) {
+    public Mono<ResponseEntity<Object>> setApproved(@RequestHeader(HEADER_USER_ID) long userId,
+                                                    @PathVariable long bookingId,
+                                                    @RequestParam boolean approved) {
         log.info("Approve booking {}, userId={}, approved={}", bookingId, userId, approved);
         return bookingClient.setApproved(userId, bookingId, approved);
     }
 
+    @PatchMapping
+    public Mono<ResponseEntity<Object>> setApproved(@RequestHeader(HEADER_USER_ID) long userId,
+                                                    @Valid @RequestBody BookingApprovalRequestDto requestDto,
+                                                    @RequestParam boolean approved) {
+        log.info("Approve bookings {}, userId={}, approved={}", requestDto.getBookingIds(), userId, approved);
+        return bookingClient.setApproved(userId, requestDto, approved);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> findBookingById(@RequestHeader(HEADER_USER_ID) long userId,
-                                                  @PathVariable long bookingId) {
+    public Mono<ResponseEntity<Object>> findBookingById(@RequestHeader(HEADER_USER_ID) long userId,
+                                                        @PathVariable long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.findBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByBookerId(@RequestHeader(HEADER_USER_ID) long userId,
-                                                    @RequestParam(defaultValue = "ALL") BookingState state,
-                                                    @RequestParam(defaultValue = FROM) @PositiveOrZero int from,
-                                                    @RequestParam(defaultValue = SIZE) @Positive int size) {
-        log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
+    public Mono<ResponseEntity<Object>> findAllByBookerId(@RequestHeader(HEADER_USER_ID) long userId,
+                                                          @RequestParam(defaultValue = "ALL") BookingState state,
+                                                          @RequestParam(defaultValue = FROM) @PositiveOrZero int from,
+                                                          @RequestParam(defaultValue = SIZE) @Positive int size,
+                                                          @RequestParam(required = false) String after) {
+        log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", state, userId, from, size, after);
+        if (after != null) {
+            return bookingClient.findAllByBookerId(userId, state, after, size);
+        }
         return bookingClient.findAllByBookerId(userId, state, from, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> findAllByOwnerId(@RequestHeader(HEADER_USER_ID) long userId,
-                                                   @RequestParam(defaultValue = "ALL") BookingState state,
-                                                   @RequestParam(defaultValue = FROM) @PositiveOrZero int from,
-                                                   @RequestParam(defaultValue = SIZE) @Positive int size) {
-        log.info("Get owner booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
+    public Mono<ResponseEntity<Object>> findAllByOwnerId(@RequestHeader(HEADER_USER_ID) long userId,
+                                                         @RequestParam(defaultValue = "ALL") BookingState state,
+                                                         @RequestParam(defaultValue = FROM) @PositiveOrZero int from,
+                                                         @RequestParam(defaultValue = SIZE) @Positive int size,
+                                                         @RequestParam(required = false) String after) {
+        log.info("Get owner booking with state {}, userId={}, from={}, size={}, after={}", state, userId, from, size,
+                after);
+        if (after != null) {
+            return bookingClient.findAllByOwnerId(userId, state, after, size);
+        }
         return bookingClient.findAllByOwnerId(userId, state, from, size);
     }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAllByBookerId(
+            @RequestHeader(HEADER_USER_ID) long userId,
+            @RequestParam(defaultValue = "ALL") BookingState state) {
+        log.info("Export bookings with state {}, userId={}", state, userId);
+        return bookingClient.exportAllByBookerId(userId, state);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAllByOwnerId(
+            @RequestHeader(HEADER_USER_ID) long userId,
+            @RequestParam(defaultValue = "ALL") BookingState state) {
+        log.info("Export owner bookings with state {}, userId={}", state, userId);
+        return bookingClient.exportAllByOwnerId(userId, state);
+    }
 }
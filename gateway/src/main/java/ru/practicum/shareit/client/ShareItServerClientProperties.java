@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.client")
+public class ShareItServerClientProperties {
+    /**
+     * Time allowed to open a TCP connection to the server.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Time allowed for the server to send a response once the request is written.
+     */
+    private Duration readTimeout = Duration.ofSeconds(10);
+    /**
+     * Time a request waits for a free pooled connection before failing.
+     */
+    private Duration poolTimeout = Duration.ofSeconds(5);
+    /**
+     * Maximum number of connections kept open to the server by all clients together.
+     */
+    private int maxConnections = 200;
+    /**
+     * Idle connections are closed after this time. Keep it below the server's keep-alive timeout
+     * (20 seconds for Tomcat) so a connection the server has already closed is never reused.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(15);
+}
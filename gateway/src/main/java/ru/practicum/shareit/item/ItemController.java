@@ -5,12 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Slf4j
 @Validated
@@ -19,56 +24,76 @@ import javax.validation.constraints.PositiveOrZero;
 @RequiredArgsConstructor
 public class ItemController {
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final int MAX_BATCH_ITEMS = 500;
 
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(HEADER_USER_ID) long userId,
-                                             @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(HEADER_USER_ID) long userId,
+                                                   @Valid @RequestBody ItemDto itemDto) {
         log.info("Creating item {}, userId={}", itemDto, userId);
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createItems(@RequestHeader(HEADER_USER_ID) long userId,
+                                                    @RequestBody @NotEmpty @Size(max = MAX_BATCH_ITEMS)
+                                                    List<@Valid ItemDto> itemDtos) {
+        log.info("Creating {} items, userId={}", itemDtos.size(), userId);
+        return itemClient.createItems(userId, itemDtos);
+    }
+
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findItemById(@RequestHeader(HEADER_USER_ID) long userId, @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> findItemById(@RequestHeader(HEADER_USER_ID) long userId,
+                                                     @PathVariable long itemId) {
         log.info("Get item {}, userId={}", itemId, userId);
         return itemClient.findItemById(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByUserId(@RequestHeader(HEADER_USER_ID) long userId,
-                                                  @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                  @RequestParam(defaultValue = "10") @Positive int size) {
-        log.info("Get items by userId={}, from={}, size={}", userId, from, size);
+    public Mono<ResponseEntity<Object>> findAllByUserId(@RequestHeader(HEADER_USER_ID) long userId,
+                                                        @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                        @RequestParam(defaultValue = "10") @Positive int size,
+                                                        @RequestParam(required = false) String after) {
+        log.info("Get items by userId={}, from={}, size={}, after={}", userId, from, size, after);
+        if (after != null) {
+            return itemClient.findAllByUserId(userId, after, size);
+        }
         return itemClient.findAllByUserId(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAllByUserId(@RequestHeader(HEADER_USER_ID) long userId) {
+        log.info("Export items by userId={}", userId);
+        return itemClient.exportAllByUserId(userId);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(HEADER_USER_ID) long userId,
-                                             @PathVariable long itemId,
-                                             @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(HEADER_USER_ID) long userId,
+                                                   @PathVariable long itemId,
+                                                   @RequestBody ItemDto itemDto) {
         log.info("Updating item {}", itemId);
         return itemClient.updateItem(userId, itemId, itemDto);
     }
 
     @DeleteMapping("/{itemId}")
-    public void deleteItem(@RequestHeader(HEADER_USER_ID) long userId, @PathVariable long itemId) {
+    public Mono<Void> deleteItem(@RequestHeader(HEADER_USER_ID) long userId, @PathVariable long itemId) {
         log.info("Deleting item {}", itemId);
-        itemClient.deleteItem(userId, itemId);
+        return itemClient.deleteItem(userId, itemId).then();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItemByText(@RequestParam String text,
-                                                   @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                   @RequestParam(defaultValue = "10") @Positive int size) {
+    public Mono<ResponseEntity<Object>> searchItemByText(@RequestParam String text,
+                                                         @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                         @RequestParam(defaultValue = "10") @Positive int size) {
         log.info("Search items by text={}, from={}, size={}", text, from, size);
         return itemClient.searchItemByText(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader(HEADER_USER_ID) long userId,
-                                                @PathVariable long itemId,
-                                                @Valid @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader(HEADER_USER_ID) long userId,
+                                                      @PathVariable long itemId,
+                                                      @Valid @RequestBody CommentDto commentDto) {
         log.info("Creating comment {}, userId={}, itemId={}", commentDto, userId, itemId);
         return itemClient.createComment(userId, itemId, commentDto);
     }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -22,29 +23,40 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@RequestHeader(HEADER_USER_ID) long userId,
-                                                    @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader(HEADER_USER_ID) long userId,
+                                                          @Valid @RequestBody ItemRequestDto itemRequestDto) {
         log.info("Creating itemRequest {}, userId={}", itemRequestDto, userId);
         return itemRequestClient.createItemRequest(userId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findItemRequestsByUserId(@RequestHeader(HEADER_USER_ID) long userId) {
-        log.info("Get itemRequests by userId={}", userId);
-        return itemRequestClient.findItemRequestsByUserId(userId);
+    public Mono<ResponseEntity<Object>> findItemRequestsByUserId(@RequestHeader(HEADER_USER_ID) long userId,
+                                                                 @RequestParam(defaultValue = "0")
+                                                                 @PositiveOrZero int from,
+                                                                 @RequestParam(defaultValue = "10") @Positive int size,
+                                                                 @RequestParam(required = false) String after) {
+        log.info("Get itemRequests by userId={}, from={}, size={}, after={}", userId, from, size, after);
+        if (after != null) {
+            return itemRequestClient.findItemRequestsByUserId(userId, after, size);
+        }
+        return itemRequestClient.findItemRequestsByUserId(userId, from, size);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllItemRequest(@RequestHeader(HEADER_USER_ID) long userId,
-                                                     @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                     @RequestParam(defaultValue = "10") @Positive int size) {
-        log.info("Get itemRequests where userId={}, from={}, size={}", userId, from, size);
+    public Mono<ResponseEntity<Object>> findAllItemRequest(@RequestHeader(HEADER_USER_ID) long userId,
+                                                           @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                           @RequestParam(defaultValue = "10") @Positive int size,
+                                                           @RequestParam(required = false) String after) {
+        log.info("Get itemRequests where userId={}, from={}, size={}, after={}", userId, from, size, after);
+        if (after != null) {
+            return itemRequestClient.findAllItemRequest(userId, after, size);
+        }
         return itemRequestClient.findAllItemRequest(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findItemRequestById(@RequestHeader(HEADER_USER_ID) long userId,
-                                                      @PathVariable long requestId) {
+    public Mono<ResponseEntity<Object>> findItemRequestById(@RequestHeader(HEADER_USER_ID) long userId,
+                                                            @PathVariable long requestId) {
         log.info("Get itemRequest {}, userId={}", requestId, userId);
         return itemRequestClient.findItemRequestById(userId, requestId);
     }
@@ -6,13 +6,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -70,4 +83,81 @@ class BookingControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.error", is("Unknown state: UNSUPPORTED_STATUS")));
     }
+
+    @Test
+    void testSetApprovedBatch() throws Exception {
+        String results = "[{\"bookingId\":1,\"status\":\"APPROVED\",\"error\":null}]";
+        when(bookingClient.setApproved(anyLong(), any(BookingApprovalRequestDto.class), anyBoolean()))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(results.getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(patch("/bookings")
+                        .content(objectMapper.writeValueAsString(new BookingApprovalRequestDto(List.of(1L))))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("approved", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(results));
+
+        verify(bookingClient).setApproved(eq(1L), any(BookingApprovalRequestDto.class), eq(true));
+    }
+
+    @Test
+    void testExportAllByOwnerId() throws Exception {
+        String lines = "{\"id\":1}\n{\"id\":2}\n";
+        StreamingResponseBody body = outputStream -> outputStream.write(lines.getBytes(StandardCharsets.UTF_8));
+        when(bookingClient.exportAllByOwnerId(anyLong(), any(BookingState.class)))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body)));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("state", "FUTURE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // the relayed body is copied during a second asynchronous dispatch
+        MvcResult streaming = mockMvc.perform(asyncDispatch(result))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        streaming.getAsyncResult();
+
+        assertEquals(lines, streaming.getResponse().getContentAsString());
+        verify(bookingClient).exportAllByOwnerId(1L, BookingState.FUTURE);
+    }
+
+    @Test
+    void testSetApprovedBatch_WithoutBookings() throws Exception {
+        mockMvc.perform(patch("/bookings")
+                        .content(objectMapper.writeValueAsString(new BookingApprovalRequestDto(List.of())))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("approved", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSetApprovedBatch_TooManyBookings() throws Exception {
+        List<Long> bookingIds = LongStream.rangeClosed(1, BookingApprovalRequestDto.MAX_BOOKINGS + 1)
+                .boxed()
+                .collect(Collectors.toList());
+
+        mockMvc.perform(patch("/bookings")
+                        .content(objectMapper.writeValueAsString(new BookingApprovalRequestDto(bookingIds)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("approved", "true"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BaseClientTest {
+    private final AtomicReference<ClientRequest> sentRequest = new AtomicReference<>();
+
+    private BaseClient clientRespondingWith(ClientResponse response) {
+        return new BaseClient(WebClient.builder()
+                .baseUrl("http://localhost:9090/items")
+                .exchangeFunction(request -> {
+                    sentRequest.set(request);
+                    return Mono.just(response);
+                })
+                .build());
+    }
+
+    @Test
+    void testGet_SendsUserIdAndParameters() {
+        BaseClient client = clientRespondingWith(ClientResponse.create(HttpStatus.OK).build());
+
+        client.get("/search?text={text}&size={size}", 1L, Map.of("text", "drill", "size", 10)).block();
+
+        ClientRequest request = sentRequest.get();
+        assertEquals(HttpMethod.GET, request.method());
+        assertEquals("http://localhost:9090/items/search?text=drill&size=10", request.url().toString());
+        assertEquals("1", request.headers().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void testGet_ReturnsServerBodyAndHeaders() {
+        String body = "{\"id\":1,  \"name\":\"Drill\"}";
+        BaseClient client = clientRespondingWith(ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Next-Cursor", "cursor")
+                .header("Transfer-Encoding", "chunked")
+                .body(body)
+                .build());
+
+        ResponseEntity<Object> response = client.get("/1", 1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertNull(response.getHeaders().getFirst("Transfer-Encoding"));
+    }
+
+    @Test
+    void testGet_ServerErrorIsRelayed() {
+        String error = "{\"error\":\"Item with id 1 does not exist\"}";
+        BaseClient client = clientRespondingWith(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+
+        ResponseEntity<Object> response = client.get("/1", 1L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void testStream_RelaysBodyAsItArrives() throws Exception {
+        String lines = "{\"id\":1}\n{\"id\":2}\n";
+        BaseClient client = clientRespondingWith(ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                .header("Transfer-Encoding", "chunked")
+                .body(lines)
+                .build());
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("/export", 1L, null).block();
+
+        ClientRequest request = sentRequest.get();
+        assertEquals("http://localhost:9090/items/export", request.url().toString());
+        assertEquals(MediaType.APPLICATION_NDJSON, request.headers().getAccept().get(0));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertNull(response.getHeaders().getFirst("Transfer-Encoding"));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+        assertEquals(lines, body.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStream_ServerErrorIsRelayed() throws Exception {
+        String error = "{\"error\":\"User with id 1 does not exist\"}";
+        BaseClient client = clientRespondingWith(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("/export", 1L, null).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+        assertEquals(error, body.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -6,12 +6,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -77,4 +83,53 @@ class ItemRequestControllerTest {
                         .queryParam("size", "10"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void testFindAllItemRequest_After() throws Exception {
+        when(itemRequestClient.findAllItemRequest(1L, "cursor", 10))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body("[]".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(get("/requests/all")
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("after", "cursor")
+                        .queryParam("size", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string("[]"));
+
+        verify(itemRequestClient).findAllItemRequest(1L, "cursor", 10);
+    }
+
+    @Test
+    void testFindItemRequestsByUserId_SizeIsIncorrect() throws Exception {
+        mockMvc.perform(get("/requests")
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("from", "0")
+                        .queryParam("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindItemRequestsByUserId() throws Exception {
+        when(itemRequestClient.findItemRequestsByUserId(1L, 20, 10))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body("[]".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(get("/requests")
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("from", "20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+
+        verify(itemRequestClient).findItemRequestsByUserId(1L, 20, 10);
+    }
 }
@@ -1,19 +1,28 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreatedBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.UserHasNoRightsException;
 import ru.practicum.shareit.exc.ValidationException;
+import ru.practicum.shareit.trait.NdjsonWriter;
+import ru.practicum.shareit.trait.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,6 +34,7 @@ public class BookingController {
     private static final String SIZE = "20";
     private final BookingService bookingService;
     private final BookingMapper bookingMapper;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public CreatedBookingDto createBooking(@RequestHeader(HEADER_USER_ID) long userId,
@@ -42,33 +52,81 @@ public class BookingController {
         return bookingMapper.toBookingDto((bookingService.setApproved(userId, bookingId, approved)));
     }
 
+    @PatchMapping
+    public List<BookingApprovalDto> setApproved(@RequestHeader(HEADER_USER_ID) long userId,
+                                                @Valid @RequestBody BookingApprovalRequestDto requestDto,
+                                                @RequestParam boolean approved)
+            throws ObjectNotFoundException {
+        return bookingService.setApproved(userId, requestDto.getBookingIds(), approved)
+                .stream()
+                .map(bookingMapper::toBookingApprovalDto)
+                .collect(Collectors.toList());
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto findBookingById(@RequestHeader(HEADER_USER_ID) long userId, @PathVariable long bookingId)
             throws ObjectNotFoundException, UserHasNoRightsException {
-        return bookingMapper.toBookingDto(bookingService.findBookingById(userId, bookingId));
+        return bookingMapper.toBookingDto(bookingService.findBookingViewById(userId, bookingId));
     }
 
     @GetMapping
     public Collection<BookingDto> findAllByBookerId(@RequestHeader(HEADER_USER_ID) long userId,
                                                     @RequestParam(defaultValue = "ALL") BookingState state,
                                                     @RequestParam(defaultValue = FROM) int from,
-                                                    @RequestParam(defaultValue = SIZE) int size)
-            throws ObjectNotFoundException {
-        return bookingService.findAllByBookerId(userId, state, from, size)
-                .stream()
-                .map(bookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+                                                    @RequestParam(defaultValue = SIZE) int size,
+                                                    @RequestParam(required = false) String after,
+                                                    HttpServletResponse response)
+            throws ValidationException {
+        Collection<BookingView> bookings = after == null
+                ? bookingService.findAllByBookerId(userId, state, from, size)
+                : bookingService.findAllByBookerId(userId, state, after, size);
+
+        return toBookingDtoPage(bookings, size, response);
     }
 
     @GetMapping("/owner")
     public Collection<BookingDto> findAllByOwnerId(@RequestHeader(HEADER_USER_ID) long userId,
                                                    @RequestParam(defaultValue = "ALL") BookingState state,
                                                    @RequestParam(defaultValue = FROM) int from,
-                                                   @RequestParam(defaultValue = SIZE) int size)
-            throws ObjectNotFoundException {
-        return bookingService.findAllByOwnerId(userId, state, from, size)
+                                                   @RequestParam(defaultValue = SIZE) int size,
+                                                   @RequestParam(required = false) String after,
+                                                   HttpServletResponse response)
+            throws ValidationException {
+        Collection<BookingView> bookings = after == null
+                ? bookingService.findAllByOwnerId(userId, state, from, size)
+                : bookingService.findAllByOwnerId(userId, state, after, size);
+
+        return toBookingDtoPage(bookings, size, response);
+    }
+
+    @GetMapping("/export")
+    public void exportAllByBookerId(@RequestHeader(HEADER_USER_ID) long userId,
+                                    @RequestParam(defaultValue = "ALL") BookingState state,
+                                    HttpServletResponse response)
+            throws ObjectNotFoundException, IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, response);
+        bookingService.exportAllByBookerId(userId, state, booking -> writer.write(bookingMapper.toBookingDto(booking)));
+        writer.finish();
+    }
+
+    @GetMapping("/owner/export")
+    public void exportAllByOwnerId(@RequestHeader(HEADER_USER_ID) long userId,
+                                   @RequestParam(defaultValue = "ALL") BookingState state,
+                                   HttpServletResponse response)
+            throws ObjectNotFoundException, IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, response);
+        bookingService.exportAllByOwnerId(userId, state, booking -> writer.write(bookingMapper.toBookingDto(booking)));
+        writer.finish();
+    }
+
+    private List<BookingDto> toBookingDtoPage(Collection<BookingView> bookings, int size, HttpServletResponse response) {
+        List<BookingDto> bookingDtos = bookings
                 .stream()
                 .map(bookingMapper::toBookingDto)
                 .collect(Collectors.toList());
+
+        PageCursor.next(bookingDtos, size, BookingDto::getStart, BookingDto::getId)
+                .ifPresent(cursor -> response.setHeader(PageCursor.HEADER_NEXT_CURSOR, cursor));
+        return bookingDtos;
     }
 }
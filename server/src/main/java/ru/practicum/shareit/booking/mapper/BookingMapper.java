@@ -1,9 +1,12 @@
 package ru.practicum.shareit.booking.mapper;
 
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreatedBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -30,13 +33,41 @@ public class BookingMapper {
         );
     }
 
+    public BookingDto toBookingDto(BookingView booking) {
+        return new BookingDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                new BookingDto.Item(
+                        booking.getItemId(),
+                        booking.getItemName(),
+                        booking.getItemDescription(),
+                        booking.getItemAvailable()
+                ),
+                new BookingDto.User(
+                        booking.getBookerId(),
+                        booking.getBookerName(),
+                        booking.getBookerEmail()
+                ),
+                booking.getStatus()
+        );
+    }
+
+    public BookingApprovalDto toBookingApprovalDto(BookingApproval approval) {
+        return new BookingApprovalDto(
+                approval.getBookingId(),
+                approval.getStatus(),
+                approval.getError()
+        );
+    }
+
     public Booking toBooking(CreatedBookingDto bookingDto) {
         return new Booking(
                 bookingDto.getId(),
                 bookingDto.getStart(),
                 bookingDto.getEnd(),
                 new Item(bookingDto.getItemId(), null, null, null, null, null,
-                        null, null, null),
+                        null, null, null, null),
                 null,
                 null
         );
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The outcome of approving or rejecting one booking of a batch: the status the booking ended up with and,
+ * when it was left untouched, the reason why.
+ */
+@Data
+@AllArgsConstructor
+public class BookingApproval {
+    private Long bookingId;
+    private BookingStatus status;
+    private String error;
+}
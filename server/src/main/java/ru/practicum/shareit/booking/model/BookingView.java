@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a booking, its item and its booker that {@code BookingDto} shows, selected by constructor
+ * expression instead of loading the entities. The owner id is kept for the access check.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingView {
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final BookingStatus status;
+    private final Long itemId;
+    private final String itemName;
+    private final String itemDescription;
+    private final Boolean itemAvailable;
+    private final Long ownerId;
+    private final Long bookerId;
+    private final String bookerName;
+    private final String bookerEmail;
+}
@@ -1,52 +1,86 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSpecificationRepository {
+
+    /**
+     * Re-reads a booking under its item lock. Read-write, like the other queries that decide a write, so that it
+     * always sees the primary database even when read-only transactions go to a replica.
+     */
+    @Override
+    @Transactional
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long bookingId);
+
+    Optional<Booking> findFirstByItemIdAndStatusOrderByEnd(long itemId, BookingStatus status);
+
+    Optional<Booking> findFirstByItemIdAndStatusOrderByEndDesc(long itemId, BookingStatus status);
 
     @Query("select b " +
             "from Booking b " +
-            "where b.booker.id = :bookerId and current_timestamp > b.start" +
-            " and current_timestamp < b.end")
-    List<Booking> findForBookerCurrent(long bookerId, Pageable page);
+            "where b.item.id in :itemIds and b.status = :status" +
+            " and b.end = (select min(bf.end) from Booking bf where bf.item.id = b.item.id and bf.status = :status) " +
+            "order by b.id")
+    List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds, BookingStatus status);
 
     @Query("select b " +
             "from Booking b " +
-            "where b.booker.id = :id and b.start > current_timestamp " +
-            "order by b.start desc")
-    List<Booking> findAllByBookerAndFutureState(long id, Pageable page);
-
-    List<Booking> findAllByBookerId(long userId, Pageable page);
-
-    List<Booking> findAllByBookerIdAndEndIsBefore(long bookerId, LocalDateTime end, Pageable page);
-
-    List<Booking> findAllByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable page);
-
-    List<Booking> findAllByItemOwnerId(long userId, Pageable page);
-
-    List<Booking> findAllByItemOwnerIdAndEndIsBefore(long bookerId, LocalDateTime end, Pageable page);
+            "where b.item.id in :itemIds and b.status = :status" +
+            " and b.end = (select max(bl.end) from Booking bl where bl.item.id = b.item.id and bl.status = :status) " +
+            "order by b.id")
+    List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds, BookingStatus status);
 
-    List<Booking> findAllByItemOwnerIdAndStatus(long bookerId, BookingStatus status, Pageable page);
-
-    Optional<Booking> findFirstByItemIdAndStatusOrderByEnd(long itemId, BookingStatus status);
-
-    Optional<Booking> findFirstByItemIdAndStatusOrderByEndDesc(long itemId, BookingStatus status);
+    @Query("select count(b) > 0 " +
+            "from Booking b " +
+            "where b.booker.id = :userId and b.item.id = :itemId and b.status = :status and b.start < :now")
+    boolean existsByBookerIdAndItemIdAndStatusAndStartBefore(long userId, long itemId, BookingStatus status,
+                                                             LocalDateTime now);
 
-    List<Booking> findAllByItemOwnerIdAndStartIsAfter(long bookerId, LocalDateTime start, Pageable page);
+    @Query("select new ru.practicum.shareit.booking.model.BookingView(b.id, b.start, b.end, b.status," +
+            " i.id, i.name, i.description, i.available, i.owner.id, u.id, u.name, u.email) " +
+            "from Booking b " +
+            "join b.item i " +
+            "join b.booker u " +
+            "where b.id = :bookingId")
+    Optional<BookingView> findViewById(long bookingId);
 
-    Optional<Booking> findFirstByBookerIdAndItemIdAndStatusAndStartBefore(long userId, long itemId,
-                                                                          BookingStatus status, LocalDateTime now);
+    @Transactional
+    @Query("select count(b) > 0 " +
+            "from Booking b " +
+            "where b.item.id = :itemId and b.status = :status" +
+            " and b.start < :end and b.end > :start")
+    boolean existsOverlapping(long itemId, BookingStatus status, LocalDateTime start, LocalDateTime end);
 
-    List<Booking> findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(long bookerId,
-                                                                    LocalDateTime end,
-                                                                    LocalDateTime start,
-                                                                    Pageable page);
+    @Transactional
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b " +
+            "from Booking b " +
+            "where b.item.id in :itemIds and b.status = :status" +
+            " and b.start < :end and b.end > :start")
+    List<Booking> findAllOverlapping(Collection<Long> itemIds, BookingStatus status, LocalDateTime start,
+                                     LocalDateTime end);
+
+    @Transactional
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findAllByIdIn(Collection<Long> bookingIds);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = :status " +
+            "where b.id in :bookingIds and b.status = :expected")
+    int updateStatus(Collection<Long> bookingIds, BookingStatus expected, BookingStatus status);
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingSpecificationRepository {
+    List<BookingView> findAllViews(Specification<Booking> specification, Pageable page);
+
+    /**
+     * Streams every matching booking with its item, owner and booker, without a page limit.
+     */
+    Stream<Booking> streamAll(Specification<Booking> specification, Sort sort);
+}
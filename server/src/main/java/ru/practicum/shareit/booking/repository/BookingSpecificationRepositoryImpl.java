@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.trait.StreamTrait;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class BookingSpecificationRepositoryImpl implements BookingSpecificationRepository, StreamTrait {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findAllViews(Specification<Booking> specification, Pageable page) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = builder.createQuery(BookingView.class);
+        Root<Booking> root = query.from(Booking.class);
+        // implicit joins through the same paths as the specifications, so both share one join per table
+        Path<Item> item = root.get("item");
+        Path<User> booker = root.get("booker");
+
+        query.select(builder.construct(BookingView.class,
+                        root.get("id"), root.get("start"), root.get("end"), root.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("owner").get("id"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(toOrders(page.getSort(), root, builder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Booking> streamAll(Specification<Booking> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+
+        query.select(root)
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(toOrders(sort, root, builder));
+
+        return stream(entityManager, entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph(Booking.WITH_ITEM_AND_BOOKER)));
+    }
+}
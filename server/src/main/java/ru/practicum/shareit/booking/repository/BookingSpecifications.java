@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public final class BookingSpecifications {
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> byRole(BookingRole role, long userId) {
+        return role == BookingRole.OWNER ? byItemOwner(userId) : byBooker(userId);
+    }
+
+    public static Specification<Booking> byBooker(long userId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), userId);
+    }
+
+    public static Specification<Booking> byItemOwner(long userId) {
+        return (root, query, builder) -> builder.equal(root.get("item").get("owner").get("id"), userId);
+    }
+
+    public static Specification<Booking> byState(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case CURRENT:
+                return (root, query, builder) -> builder.and(
+                        builder.lessThan(root.get("start"), now),
+                        builder.greaterThan(root.get("end"), now));
+            case PAST:
+                return (root, query, builder) -> builder.lessThan(root.get("end"), now);
+            case FUTURE:
+                return (root, query, builder) -> builder.greaterThan(root.get("start"), now);
+            case WAITING:
+                return byStatus(BookingStatus.WAITING);
+            case REJECTED:
+                return byStatus(BookingStatus.REJECTED);
+            default:
+                return (root, query, builder) -> builder.conjunction();
+        }
+    }
+
+    public static Specification<Booking> startBefore(LocalDateTime start, long bookingId) {
+        return (root, query, builder) -> builder.or(
+                builder.lessThan(root.get("start"), start),
+                builder.and(
+                        builder.equal(root.get("start"), start),
+                        builder.lessThan(root.get("id"), bookingId)));
+    }
+
+    private static Specification<Booking> byStatus(BookingStatus status) {
+        return (root, query, builder) -> builder.equal(root.get("status"), status);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exc.ObjectNotFoundException;
+import ru.practicum.shareit.exc.UserHasNoRightsException;
+import ru.practicum.shareit.user.service.UserService;
+
+/**
+ * The lookups an approval depends on. Called on their own they run in a read-write transaction, so they see the
+ * primary database even when read-only transactions go to a replica, and they finish before the booking service
+ * takes its item locks. Called from a read-only transaction they simply join it.
+ */
+@Component
+@RequiredArgsConstructor
+class BookingLookups {
+    private final UserService userService;
+    private final BookingRepository bookingRepository;
+
+    @Transactional
+    public void checkUserId(long userId) throws ObjectNotFoundException {
+        userService.checkUserId(userId);
+    }
+
+    @Transactional
+    public Booking findBookingById(long userId, long bookingId)
+            throws ObjectNotFoundException, UserHasNoRightsException {
+        userService.checkUserId(userId);
+
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new ObjectNotFoundException(
+                String.format("Booking with id %d does not exist", bookingId), "findBookingById"));
+
+        checkRights(userId, booking.getBooker().getId(), booking.getItem().getOwner().getId());
+        return booking;
+    }
+
+    static void checkRights(long userId, long bookerId, long ownerId) throws UserHasNoRightsException {
+        if (bookerId != userId && ownerId != userId) {
+            throw new UserHasNoRightsException(String.format("User with id %d has no right", userId), "GetBookingById");
+        }
+    }
+}
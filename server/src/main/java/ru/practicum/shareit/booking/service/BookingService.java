@@ -1,12 +1,16 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.UserHasNoRightsException;
 import ru.practicum.shareit.exc.ValidationException;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
@@ -14,11 +18,29 @@ public interface BookingService {
 
     Booking setApproved(long userId, long bookingId, boolean approved) throws ValidationException;
 
+    List<BookingApproval> setApproved(long userId, Collection<Long> bookingIds, boolean approved)
+            throws ObjectNotFoundException;
+
     Booking findBookingById(long userId, long bookingId) throws ObjectNotFoundException, UserHasNoRightsException;
 
-    Collection<Booking> findAllByBookerId(long userId, BookingState state, int from, int size)
+    BookingView findBookingViewById(long userId, long bookingId)
+            throws ObjectNotFoundException, UserHasNoRightsException;
+
+    Collection<BookingView> findAllByBookerId(long userId, BookingState state, int from, int size)
+            throws ObjectNotFoundException;
+
+    Collection<BookingView> findAllByOwnerId(long userId, BookingState state, int from, int size)
+            throws ObjectNotFoundException;
+
+    Collection<BookingView> findAllByBookerId(long userId, BookingState state, String after, int size)
+            throws ValidationException;
+
+    Collection<BookingView> findAllByOwnerId(long userId, BookingState state, String after, int size)
+            throws ValidationException;
+
+    void exportAllByBookerId(long userId, BookingState state, Consumer<Booking> consumer)
             throws ObjectNotFoundException;
 
-    Collection<Booking> findAllByOwnerId(long userId, BookingState state, int from, int size)
+    void exportAllByOwnerId(long userId, BookingState state, Consumer<Booking> consumer)
             throws ObjectNotFoundException;
 }
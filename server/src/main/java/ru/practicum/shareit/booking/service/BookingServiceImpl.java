@@ -2,38 +2,73 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.exc.BookingConflictException;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.UserHasNoRightsException;
 import ru.practicum.shareit.exc.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.trait.PageCursor;
 import ru.practicum.shareit.trait.PageTrait;
+import ru.practicum.shareit.trait.StreamTrait;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class BookingServiceImpl implements BookingService, PageTrait {
+public class BookingServiceImpl implements BookingService, PageTrait, StreamTrait {
     private final UserService userService;
     private final ItemService itemService;
     private final BookingRepository bookingRepository;
+    private final BookingLookups bookingLookups;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Clock clock;
+    private final ItemLocks itemLocks = new ItemLocks(ITEM_LOCK_STRIPES);
     private static final String ERROR_MESSAGE_DATE = "The start or end date of the booking is incorrect";
+    private static final String ERROR_MESSAGE_BOOKED = "Item with id %d is already booked for this period";
+    private static final String ERROR_MESSAGE_NOT_WAITING = "Reservation with id %d is not pending confirmation";
+    private static final String ERROR_MESSAGE_NOT_APPLIED =
+            "Reservation with id %d was not updated because of a conflict in its batch, try again";
+    private static final int ITEM_LOCK_STRIPES = 256;
 
     @Override
+    @Transactional
     public Booking createBooking(long userId, Booking booking) throws ValidationException {
         userService.checkUserId(userId);
-
         Item item = itemService.findItemById(userId, booking.getItem().getId());
 
         validateBooking(userId, booking, item);
@@ -42,99 +77,176 @@ public class BookingServiceImpl implements BookingService, PageTrait {
         booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
 
+        checkNotOverlapping(booking, "CreateBooking");
+
         log.info("Created a booking with id {}", booking.getId());
         return bookingRepository.save(booking);
     }
 
     @Override
     public Booking setApproved(long userId, long bookingId, boolean approved) throws ValidationException {
-        Booking booking = findBookingById(userId, bookingId);
+        Booking booking = bookingLookups.findBookingById(userId, bookingId);
 
-        validateApproved(userId, bookingId, booking);
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingRepository.save(booking);
+        Lock lock = itemLocks.forItem(booking.getItem().getId());
+        lock.lock();
+        try {
+            // another request for the same item may have decided on this booking while we were waiting
+            booking = bookingRepository.findById(bookingId).orElse(booking);
+
+            validateApproved(userId, bookingId, booking);
+            if (approved) {
+                checkNotOverlapping(booking, "SetApproved");
+            }
+            booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+            return bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            // the database constraint catches what the lock cannot see: approvals made by other server instances
+            throw new BookingConflictException(String.format(ERROR_MESSAGE_BOOKED, booking.getItem().getId()),
+                    "SetApproved");
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
+    public List<BookingApproval> setApproved(long userId, Collection<Long> bookingIds, boolean approved)
+            throws ObjectNotFoundException {
+        bookingLookups.checkUserId(userId);
+
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, BookingApproval> results = new HashMap<>();
+        List<Booking> pending = new ArrayList<>();
+
+        for (Long bookingId : ids) {
+            Booking booking = bookings.get(bookingId);
+            String error = findApprovalError(userId, bookingId, booking);
+            if (error == null) {
+                pending.add(booking);
+            } else {
+                results.put(bookingId, new BookingApproval(bookingId,
+                        booking == null ? null : booking.getStatus(), error));
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            List<Lock> locks = itemLocks.forItems(pending.stream()
+                    .map(booking -> booking.getItem().getId())
+                    .collect(Collectors.toSet()));
+            locks.forEach(Lock::lock);
+            try {
+                // the overlap check and the update commit together, and before the locks let the next request in
+                transactionTemplate.executeWithoutResult(transaction -> {
+                    List<Booking> accepted = approved ? withoutOverlapping(pending, results) : pending;
+                    updateStatus(accepted, approved ? BookingStatus.APPROVED : BookingStatus.REJECTED, results);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // the database constraint catches what the locks cannot see: approvals made by other server instances
+                reportRolledBack(pending, results);
+            } finally {
+                locks.forEach(Lock::unlock);
+            }
+        }
+
+        log.info("User with id {} decided on bookings {}, approved={}", userId, ids, approved);
+        return ids.stream().map(results::get).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Booking findBookingById(long userId, long bookingId)
             throws ObjectNotFoundException, UserHasNoRightsException {
+        return bookingLookups.findBookingById(userId, bookingId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingView findBookingViewById(long userId, long bookingId)
+            throws ObjectNotFoundException, UserHasNoRightsException {
         userService.checkUserId(userId);
 
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new ObjectNotFoundException(
+        BookingView booking = bookingRepository.findViewById(bookingId).orElseThrow(() -> new ObjectNotFoundException(
                 String.format("Booking with id %d does not exist", bookingId), "findBookingById"));
 
-        if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
-            throw new UserHasNoRightsException(String.format("User with id %d has no right", userId), "GetBookingById");
-        }
+        BookingLookups.checkRights(userId, booking.getBookerId(), booking.getOwnerId());
         return booking;
     }
 
     @Override
-    public Collection<Booking> findAllByBookerId(long userId, BookingState state, int from, int size)
+    @Transactional(readOnly = true)
+    public Collection<BookingView> findAllByBookerId(long userId, BookingState state, int from, int size)
             throws ObjectNotFoundException {
         userService.checkUserId(userId);
 
-        Pageable page = getPage(from, size, "start", Sort.Direction.DESC);
+        return findAll(BookingSpecifications.byRole(BookingRole.BOOKER, userId), state,
+                getPage(from, size, "start", Sort.Direction.DESC));
+    }
 
-        Collection<Booking> result = null;
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<BookingView> findAllByOwnerId(long userId, BookingState state, int from, int size)
+            throws ObjectNotFoundException {
+        userService.checkUserId(userId);
 
-        switch (state) {
-            case ALL:
-                result = bookingRepository.findAllByBookerId(userId, page);
-                break;
-            case CURRENT:
-                result = bookingRepository.findForBookerCurrent(userId, page);
-                break;
-            case PAST:
-                result = bookingRepository.findAllByBookerIdAndEndIsBefore(userId, LocalDateTime.now(), page);
-                break;
-            case FUTURE:
-                result = bookingRepository.findAllByBookerAndFutureState(userId, page);
-                break;
+        return findAll(BookingSpecifications.byRole(BookingRole.OWNER, userId), state,
+                getPage(from, size, "start", Sort.Direction.DESC));
+    }
 
-            case WAITING:
-                result = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, page);
-                break;
-            case REJECTED:
-                result = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED, page);
-                break;
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<BookingView> findAllByBookerId(long userId, BookingState state, String after, int size)
+            throws ValidationException {
+        userService.checkUserId(userId);
+
+        return findAllAfter(BookingSpecifications.byRole(BookingRole.BOOKER, userId), state, after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<BookingView> findAllByOwnerId(long userId, BookingState state, String after, int size)
+            throws ValidationException {
+        userService.checkUserId(userId);
+
+        return findAllAfter(BookingSpecifications.byRole(BookingRole.OWNER, userId), state, after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllByBookerId(long userId, BookingState state, Consumer<Booking> consumer)
+            throws ObjectNotFoundException {
+        userService.checkUserId(userId);
 
-        return result;
+        exportAll(BookingSpecifications.byRole(BookingRole.BOOKER, userId), state, consumer);
     }
 
     @Override
-    public Collection<Booking> findAllByOwnerId(long userId, BookingState state, int from, int size)
+    @Transactional(readOnly = true)
+    public void exportAllByOwnerId(long userId, BookingState state, Consumer<Booking> consumer)
             throws ObjectNotFoundException {
         userService.checkUserId(userId);
 
-        Pageable page = getPage(from, size, "start", Sort.Direction.DESC);
+        exportAll(BookingSpecifications.byRole(BookingRole.OWNER, userId), state, consumer);
+    }
 
-        Collection<Booking> result = null;
+    private Collection<BookingView> findAllAfter(Specification<Booking> byUser, BookingState state, String after,
+                                                 int size) throws ValidationException {
+        PageCursor cursor = PageCursor.decode(after);
 
-        switch (state) {
-            case ALL:
-                result = bookingRepository.findAllByItemOwnerId(userId, page);
-                break;
-            case CURRENT:
-                result = bookingRepository.findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(userId, LocalDateTime.now(),
-                        LocalDateTime.now(), page);
-                break;
-            case PAST:
-                result = bookingRepository.findAllByItemOwnerIdAndEndIsBefore(userId, LocalDateTime.now(), page);
-                break;
-            case FUTURE:
-                result = bookingRepository.findAllByItemOwnerIdAndStartIsAfter(userId, LocalDateTime.now(), page);
-                break;
-            case WAITING:
-                result = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, page);
-                break;
-            case REJECTED:
-                result = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, page);
-                break;
-        }
+        return findAll(byUser.and(BookingSpecifications.startBefore(cursor.getKeyAsDateTime(), cursor.getId())),
+                state, getPageAfter(size, "start", Sort.Direction.DESC));
+    }
 
-        return result;
+    private Collection<BookingView> findAll(Specification<Booking> byUser, BookingState state, Pageable page) {
+        return bookingRepository.findAllViews(byUser.and(BookingSpecifications.byState(state, LocalDateTime.now(clock))),
+                page);
+    }
+
+    private void exportAll(Specification<Booking> byUser, BookingState state, Consumer<Booking> consumer) {
+        try (Stream<Booking> bookings = bookingRepository.streamAll(
+                byUser.and(BookingSpecifications.byState(state, LocalDateTime.now(clock))), Sort.by("id"))) {
+            forEach(entityManager, bookings, consumer);
+        }
     }
 
     private void validateBooking(long userId, Booking booking, Item item) throws ValidationException {
@@ -144,16 +256,118 @@ public class BookingServiceImpl implements BookingService, PageTrait {
         if (item.getOwner().getId().equals(userId)) {
             throw new UserHasNoRightsException(ERROR_MESSAGE_DATE, "CreateBooking");
         }
-        if (booking.getStart().isBefore(LocalDateTime.now()) || booking.getEnd().isBefore(LocalDateTime.now())
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (booking.getStart().isBefore(now) || booking.getEnd().isBefore(now)
                 || booking.getEnd().isBefore(booking.getStart())) {
             throw new ValidationException(ERROR_MESSAGE_DATE, "CreateBooking");
         }
     }
 
+    private void checkNotOverlapping(Booking booking, String className) throws BookingConflictException {
+        if (bookingRepository.existsOverlapping(booking.getItem().getId(), BookingStatus.APPROVED,
+                booking.getStart(), booking.getEnd())) {
+            throw new BookingConflictException(String.format(ERROR_MESSAGE_BOOKED, booking.getItem().getId()),
+                    className);
+        }
+    }
+
+    private String findApprovalError(long userId, long bookingId, Booking booking) {
+        if (booking == null) {
+            return String.format("Booking with id %d does not exist", bookingId);
+        }
+        if (booking.getItem().getOwner().getId() != userId) {
+            return String.format("User with id %d has no right to change status", userId);
+        }
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            return String.format(ERROR_MESSAGE_NOT_WAITING, bookingId);
+        }
+        return null;
+    }
+
+    /**
+     * Leaves out the bookings that overlap an approved booking of the same item or an earlier booking of the batch.
+     */
+    private List<Booking> withoutOverlapping(List<Booking> pending, Map<Long, BookingApproval> results) {
+        List<Booking> taken = findApprovedOverlapping(pending);
+        List<Booking> accepted = new ArrayList<>();
+
+        for (Booking booking : pending) {
+            if (taken.stream().anyMatch(other -> overlaps(booking, other))) {
+                results.put(booking.getId(), new BookingApproval(booking.getId(), booking.getStatus(),
+                        String.format(ERROR_MESSAGE_BOOKED, booking.getItem().getId())));
+            } else {
+                accepted.add(booking);
+                taken.add(booking);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Answers the bookings of a batch whose transaction was rolled back by the overlap constraint. Those that
+     * overlap a booking approved elsewhere in the meantime are reported as booked, the others were only rolled
+     * back with them and can be retried.
+     */
+    private void reportRolledBack(List<Booking> pending, Map<Long, BookingApproval> results) {
+        List<Booking> rolledBack = pending.stream()
+                .filter(booking -> !results.containsKey(booking.getId()))
+                .collect(Collectors.toList());
+        List<Booking> taken = findApprovedOverlapping(rolledBack);
+
+        for (Booking booking : rolledBack) {
+            String error = taken.stream().anyMatch(other -> overlaps(booking, other))
+                    ? String.format(ERROR_MESSAGE_BOOKED, booking.getItem().getId())
+                    : String.format(ERROR_MESSAGE_NOT_APPLIED, booking.getId());
+            results.put(booking.getId(), new BookingApproval(booking.getId(), booking.getStatus(), error));
+        }
+    }
+
+    /**
+     * Fetches the approved bookings of the given bookings' items with one query spanning all their periods.
+     */
+    private List<Booking> findApprovedOverlapping(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> itemIds = bookings.stream().map(booking -> booking.getItem().getId()).collect(Collectors.toSet());
+        LocalDateTime start = bookings.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = bookings.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+        return new ArrayList<>(bookingRepository.findAllOverlapping(itemIds, BookingStatus.APPROVED, start, end));
+    }
+
+    private boolean overlaps(Booking booking, Booking other) {
+        return !booking.getId().equals(other.getId())
+                && booking.getItem().getId().equals(other.getItem().getId())
+                && booking.getStart().isBefore(other.getEnd())
+                && booking.getEnd().isAfter(other.getStart());
+    }
+
+    /**
+     * Moves the accepted bookings to the given status with a single update guarded by their waiting status.
+     * Bookings decided by a concurrent request in the meantime keep the status that request gave them.
+     */
+    private void updateStatus(List<Booking> accepted, BookingStatus status, Map<Long, BookingApproval> results) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = accepted.stream().map(Booking::getId).collect(Collectors.toSet());
+        int updated = bookingRepository.updateStatus(ids, BookingStatus.WAITING, status);
+
+        if (updated == ids.size()) {
+            ids.forEach(id -> results.put(id, new BookingApproval(id, status, null)));
+            return;
+        }
+        for (Booking booking : bookingRepository.findAllByIdIn(ids)) {
+            results.put(booking.getId(), booking.getStatus() == status
+                    ? new BookingApproval(booking.getId(), status, null)
+                    : new BookingApproval(booking.getId(), booking.getStatus(),
+                    String.format(ERROR_MESSAGE_NOT_WAITING, booking.getId())));
+        }
+    }
+
     private void validateApproved(long userId, long bookingId, Booking booking) throws ValidationException {
         if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new ValidationException(String.format(
-                    "Reservation with id %d is not pending confirmation", bookingId), "SetStatus");
+            throw new ValidationException(String.format(ERROR_MESSAGE_NOT_WAITING, bookingId), "SetStatus");
         }
 
         if (booking.getItem().getOwner().getId() != userId) {
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * A fixed set of locks striped by item id.
+ * <p>
+ * Bookings of one item always map to the same lock, so the overlap check and the write that follows it
+ * cannot interleave with another request for that item, while requests for other items rarely contend.
+ */
+class ItemLocks {
+    private final Lock[] stripes;
+
+    ItemLocks(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("The number of stripes must be a power of two");
+        }
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    Lock forItem(long itemId) {
+        return stripes[stripe(itemId)];
+    }
+
+    /**
+     * The distinct locks guarding the given items, always in the same order so that two callers locking
+     * overlapping sets of items cannot deadlock.
+     */
+    List<Lock> forItems(Collection<Long> itemIds) {
+        return itemIds.stream()
+                .map(this::stripe)
+                .distinct()
+                .sorted()
+                .map(stripe -> stripes[stripe])
+                .collect(Collectors.toList());
+    }
+
+    private int stripe(long itemId) {
+        int hash = Long.hashCode(itemId);
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.metrics.QueryCountFilter;
+import ru.practicum.shareit.metrics.StatementCounter;
+
+/**
+ * Query metrics that replace per-statement SQL logging. Repository invocations are timed by Spring Boot as
+ * {@code spring.data.repository.invocations}, Hibernate statistics are published as {@code hibernate.*} and the
+ * number of statements per request as {@link QueryCountFilter#METRIC_NAME}. Statements slower than
+ * {@code hibernate.session.events.log.LOG_QUERIES_SLOWER_THAN_MS} are logged by {@code org.hibernate.SQL_SLOW}.
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    @Bean
+    public QueryCountFilter queryCountFilter(StatementCounter statementCounter, MeterRegistry meterRegistry) {
+        return new QueryCountFilter(statementCounter, meterRegistry);
+    }
+}
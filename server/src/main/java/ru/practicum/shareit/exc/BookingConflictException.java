@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exc;
+
+public class BookingConflictException extends ValidationException {
+    public BookingConflictException(String message, String className) {
+        super(message, className);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
@@ -11,9 +12,14 @@ import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.trait.NdjsonWriter;
+import ru.practicum.shareit.trait.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,6 +30,7 @@ public class ItemController {
     private final ItemService itemService;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto createItem(@RequestHeader(HEADER_USER_ID) long userId, @Valid @RequestBody ItemDto itemDto)
@@ -33,6 +40,17 @@ public class ItemController {
         return itemMapper.toItemDto(item);
     }
 
+    @PostMapping("/batch")
+    public List<Long> createItems(@RequestHeader(HEADER_USER_ID) long userId, @RequestBody List<ItemDto> itemDtos)
+            throws ValidationException {
+        List<Item> items = itemService.createItems(userId, itemDtos
+                .stream()
+                .map(itemMapper::toItem)
+                .collect(Collectors.toList()));
+
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
     @GetMapping("/{itemId}")
     public ItemDto findItemById(@RequestHeader(HEADER_USER_ID) long userId, @PathVariable long itemId)
             throws ObjectNotFoundException {
@@ -42,13 +60,30 @@ public class ItemController {
     @GetMapping
     public Collection<ItemDto> findAllByUserId(@RequestHeader(HEADER_USER_ID) long userId,
                                                @RequestParam(defaultValue = "0") int from,
-                                               @RequestParam(defaultValue = "20") int size)
-            throws ObjectNotFoundException {
+                                               @RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(required = false) String after,
+                                               HttpServletResponse response)
+            throws ValidationException {
+        Collection<Item> items = after == null
+                ? itemService.findAllByUserId(userId, from, size)
+                : itemService.findAllByUserId(userId, after, size);
 
-        return itemService.findAllByUserId(userId, from, size)
+        List<ItemDto> itemDtos = items
                 .stream()
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
+
+        PageCursor.next(itemDtos, size, ItemDto::getId, ItemDto::getId)
+                .ifPresent(cursor -> response.setHeader(PageCursor.HEADER_NEXT_CURSOR, cursor));
+        return itemDtos;
+    }
+
+    @GetMapping("/export")
+    public void exportAllByUserId(@RequestHeader(HEADER_USER_ID) long userId, HttpServletResponse response)
+            throws ObjectNotFoundException, IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, response);
+        itemService.exportAllByUserId(userId, item -> writer.write(itemMapper.toExportedItemDto(item)));
+        writer.finish();
     }
 
     @PatchMapping("/{itemId}")
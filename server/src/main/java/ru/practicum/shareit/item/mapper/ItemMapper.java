@@ -8,6 +8,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -24,7 +25,25 @@ public class ItemMapper {
                 Optional.ofNullable(item.getRequest()).map(ItemRequest::getId).orElse(null),
                 Optional.ofNullable(item.getLastBooking()).map(this::toBookingItem).orElse(null),
                 Optional.ofNullable(item.getNextBooking()).map(this::toBookingItem).orElse(null),
-                item.getComments().stream().map(this::toCommentItem).collect(Collectors.toList())
+                Optional.ofNullable(item.getLoadedComments()).orElseGet(item::getComments).stream()
+                        .map(this::toCommentItem).collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Maps only what the item row itself holds: comments and bookings are left empty rather than loaded.
+     */
+    public ItemDto toExportedItemDto(Item item) {
+        return new ItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                toUserItem(item.getOwner()),
+                Optional.ofNullable(item.getRequest()).map(ItemRequest::getId).orElse(null),
+                null,
+                null,
+                List.of()
         );
     }
 
@@ -40,7 +59,8 @@ public class ItemMapper {
                 ).orElse(null),
                 Optional.ofNullable(itemDto.getLastBooking()).map(this::toBooking).orElse(null),
                 Optional.ofNullable(itemDto.getNextBooking()).map(this::toBooking).orElse(null),
-                itemDto.getComments().stream().map(this::toComment).collect(Collectors.toList())
+                itemDto.getComments().stream().map(this::toComment).collect(Collectors.toList()),
+                null
         );
     }
 
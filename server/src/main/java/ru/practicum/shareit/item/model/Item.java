@@ -4,6 +4,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -13,15 +18,34 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = Item.WITH_OWNER, attributeNodes = @NamedAttributeNode("owner"))
+@NamedEntityGraph(name = Item.WITH_OWNER_AND_COMMENTS,
+        attributeNodes = {@NamedAttributeNode("owner"), @NamedAttributeNode(value = "comments", subgraph = "comments")},
+        subgraphs = @NamedSubgraph(name = "comments", attributeNodes = @NamedAttributeNode("author")))
 @Data
 @Table(name = "items")
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Item {
+    public static final String WITH_OWNER = "Item.withOwner";
+    public static final String WITH_OWNER_AND_COMMENTS = "Item.withOwnerAndComments";
 
+    /**
+     * Taken from {@code items_seq} in blocks of 50 so that inserts can be batched. With the {@code pooled-lo}
+     * optimizer every value the sequence hands out starts a block of its own, which keeps plain SQL inserts
+     * using the column default from colliding with the ids Hibernate has reserved.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @GenericGenerator(name = "items_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "items_seq"),
+                    @Parameter(name = "increment_size", value = "50"),
+                    @Parameter(name = "optimizer", value = "pooled-lo")
+            })
     private Long id;
 
     private String name;
@@ -30,21 +54,46 @@ public class Item {
 
     private Boolean available;
 
-    @ManyToOne()
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private User owner;
 
-    @OneToOne()
+    @ToString.Exclude
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
 
+    @ToString.Exclude
     @Transient
     private Booking lastBooking;
 
+    @ToString.Exclude
     @Transient
     private Booking nextBooking;
 
+    @ToString.Exclude
     @OneToMany()
     @JoinColumn(name = "item_id")
     private Collection<Comment> comments = new ArrayList<>();
+
+    @ToString.Exclude
+    @Transient
+    private Collection<Comment> loadedComments;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Item)) {
+            return false;
+        }
+        return id != null && id.equals(((Item) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : Item.class.hashCode();
+    }
 }
@@ -1,18 +1,55 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemStreamRepository {
+    @Override
+    @EntityGraph(Item.WITH_OWNER_AND_COMMENTS)
+    Optional<Item> findById(Long itemId);
+
+    @EntityGraph(Item.WITH_OWNER)
+    @Query("select i from Item i where i.owner.id = :userId")
     List<Item> findAllByOwnerId(Long userId, Pageable page);
 
+    @EntityGraph(Item.WITH_OWNER)
+    @Query("select i from Item i where i.owner.id = :userId and i.id > :itemId")
+    List<Item> findAllByOwnerIdAndIdGreaterThan(Long userId, Long itemId, Pageable page);
+
+    @EntityGraph(Item.WITH_OWNER)
+    List<Item> findAllByIdIn(Collection<Long> itemIds);
+
+    /**
+     * The names among {@code names} that the owner already uses. Read-write so that a batch is checked against the
+     * primary database, which enforces the unique owner and name pair.
+     */
+    @Transactional
+    @Query("select i.name from Item i where i.owner.id = :ownerId and i.name in :names")
+    List<String> findNamesByOwnerIdAndNameIn(long ownerId, Collection<String> names);
+
+    @EntityGraph(Item.WITH_OWNER)
     @Query("select i from Item i" +
-            " where upper(i.name) like upper(concat('%', ?1, '%'))" +
-            " or upper(i.description) like upper(concat('%', ?1, '%'))" +
-            " and i.available is true")
+            " where i.available is true" +
+            " and (upper(i.name) like upper(concat('%', ?1, '%'))" +
+            " or upper(i.description) like upper(concat('%', ?1, '%')))" +
+            " order by i.id")
     List<Item> search(String text, Pageable page);
+
+    @Query(value = "select i.id from items i" +
+            " where i.available is true" +
+            " and (i.search_vector @@ plainto_tsquery('simple', :text)" +
+            " or i.name ilike concat('%', :text, '%')" +
+            " or i.description ilike concat('%', :text, '%'))" +
+            " order by ts_rank(i.search_vector, plainto_tsquery('simple', :text)) desc," +
+            " similarity(i.name, :text) desc, i.id",
+            nativeQuery = true)
+    List<Long> searchIdsFullText(String text, Pageable page);
 }
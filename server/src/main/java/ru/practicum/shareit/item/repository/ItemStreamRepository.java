@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.stream.Stream;
+
+public interface ItemStreamRepository {
+    /**
+     * Streams every item of the owner with its owner and request, in id order. Comments are not loaded.
+     */
+    Stream<Item> streamAllByOwnerId(long ownerId);
+}
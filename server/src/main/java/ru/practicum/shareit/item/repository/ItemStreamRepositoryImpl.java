@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.trait.StreamTrait;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.stream.Stream;
+
+public class ItemStreamRepositoryImpl implements ItemStreamRepository, StreamTrait {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Item> streamAllByOwnerId(long ownerId) {
+        return stream(entityManager, entityManager.createQuery("select i from Item i" +
+                        " join fetch i.owner" +
+                        " where i.owner.id = :ownerId" +
+                        " order by i.id", Item.class)
+                .setParameter("ownerId", ownerId));
+    }
+}
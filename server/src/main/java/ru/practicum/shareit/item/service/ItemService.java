@@ -6,15 +6,23 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
 
     Item createItem(long userId, Item item) throws ValidationException;
 
+    List<Item> createItems(long userId, List<Item> items) throws ValidationException;
+
     Item findItemById(long userId, long itemId) throws ObjectNotFoundException;
 
     Collection<Item> findAllByUserId(long userId, int from, int size) throws ObjectNotFoundException;
 
+    Collection<Item> findAllByUserId(long userId, String after, int size) throws ValidationException;
+
+    void exportAllByUserId(long userId, Consumer<Item> consumer) throws ObjectNotFoundException;
+
     Item updateItem(long userId, long itemId, Item item) throws ObjectNotFoundException;
 
     void deleteItem(long userId, long itemId) throws ObjectNotFoundException;
@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -16,27 +18,43 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.trait.PageCursor;
 import ru.practicum.shareit.trait.PageTrait;
+import ru.practicum.shareit.trait.StreamTrait;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ItemServiceImpl implements ItemService, PageTrait {
+public class ItemServiceImpl implements ItemService, PageTrait, StreamTrait {
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemRequestService itemRequestService;
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+
+    @Value("${shareit-server.search.full-text:false}")
+    private boolean fullTextSearch;
 
     @Override
+    @Transactional
     public Item createItem(long userId, Item item) throws ValidationException {
         User user = userService.findUserById(userId);
 
@@ -54,6 +72,49 @@ public class ItemServiceImpl implements ItemService, PageTrait {
     }
 
     @Override
+    @Transactional
+    public List<Item> createItems(long userId, List<Item> items) throws ValidationException {
+        User user = userService.findUserById(userId);
+
+        Set<String> names = new HashSet<>();
+        Set<Long> requestIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            String error = findItemError(item);
+            if (error == null && !names.add(item.getName())) {
+                error = String.format("Name %s is used more than once", item.getName());
+            }
+            if (error != null) {
+                throw new ValidationException(String.format("Item %d: %s", i, error), "CreateItems");
+            }
+            if (item.getRequest() != null) {
+                requestIds.add(item.getRequest().getId());
+            }
+        }
+        Set<String> existingNames = names.isEmpty() ? Set.of()
+                : new HashSet<>(itemRepository.findNamesByOwnerIdAndNameIn(userId, names));
+        for (int i = 0; i < items.size() && !existingNames.isEmpty(); i++) {
+            if (existingNames.contains(items.get(i).getName())) {
+                throw new ValidationException(String.format("Item %d: Name %s already exists", i,
+                        items.get(i).getName()), "CreateItems");
+            }
+        }
+        for (Long requestId : requestIds) {
+            itemRequestService.checkItemRequestExistsById(requestId);
+        }
+
+        items.forEach(item -> {
+            item.setId(null);
+            item.setOwner(user);
+        });
+        List<Item> itemsCreated = itemRepository.saveAll(items);
+
+        log.info("{} items are created for the user with id {}", itemsCreated.size(), userId);
+        return itemsCreated;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Item findItemById(long userId, long itemId) throws ObjectNotFoundException {
         userService.checkUserId(userId);
 
@@ -68,17 +129,36 @@ public class ItemServiceImpl implements ItemService, PageTrait {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<Item> findAllByUserId(long userId, int from, int size) throws ObjectNotFoundException {
         userService.checkUserId(userId);
         Pageable page = getPage(from, size, "id", Sort.Direction.ASC);
 
-        return itemRepository.findAllByOwnerId(userId, page)
-                .stream()
-                .map(this::setBookings)
-                .collect(Collectors.toList());
+        return setBookings(setComments(itemRepository.findAllByOwnerId(userId, page)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<Item> findAllByUserId(long userId, String after, int size) throws ValidationException {
+        userService.checkUserId(userId);
+        PageCursor cursor = PageCursor.decode(after);
+        Pageable page = getPageAfter(size, "id", Sort.Direction.ASC);
+
+        return setBookings(setComments(itemRepository.findAllByOwnerIdAndIdGreaterThan(userId, cursor.getId(), page)));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void exportAllByUserId(long userId, Consumer<Item> consumer) throws ObjectNotFoundException {
+        userService.checkUserId(userId);
+
+        try (Stream<Item> items = itemRepository.streamAllByOwnerId(userId)) {
+            forEach(entityManager, items, consumer);
+        }
+    }
+
+    @Override
+    @Transactional
     public Item updateItem(long userId, long itemId, Item item) throws ObjectNotFoundException {
         userService.checkUserId(userId);
         Item itemUpdated = findItemById(userId, itemId);
@@ -96,6 +176,7 @@ public class ItemServiceImpl implements ItemService, PageTrait {
     }
 
     @Override
+    @Transactional
     public void deleteItem(long userId, long itemId) throws ObjectNotFoundException {
         userService.checkUserId(userId);
         checkItemExistsById(itemId);
@@ -105,26 +186,29 @@ public class ItemServiceImpl implements ItemService, PageTrait {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<Item> searchItemByText(String text, int from, int size) {
-        Pageable page = getPage(from, size, "id", Sort.Direction.ASC);
+        Pageable page = getPage(from, size);
 
         if (!StringUtils.hasText(text)) {
             return Collections.emptyList();
         }
-        return itemRepository.search(text, page);
+        return setComments(fullTextSearch ? searchFullText(text, page) : itemRepository.search(text, page));
     }
 
     @Override
+    @Transactional
     public Comment addComment(long userId, long itemId, Comment comment)
             throws ValidationException {
         User user = userService.findUserById(userId);
         Item item = findItemById(userId, itemId);
 
-        bookingRepository.findFirstByBookerIdAndItemIdAndStatusAndStartBefore(userId, itemId, BookingStatus.APPROVED,
-                        LocalDateTime.now())
-                .orElseThrow(() -> new ValidationException(
-                        String.format("The user with id %d did not take the item with id %d on lease", userId, itemId),
-                        "GetBookingById"));
+        if (!bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(userId, itemId,
+                BookingStatus.APPROVED, LocalDateTime.now())) {
+            throw new ValidationException(
+                    String.format("The user with id %d did not take the item with id %d on lease", userId, itemId),
+                    "GetBookingById");
+        }
 
         comment.setAuthor(user);
         comment.setItem(item);
@@ -134,6 +218,20 @@ public class ItemServiceImpl implements ItemService, PageTrait {
         return commentRepository.save(comment);
     }
 
+    private List<Item> searchFullText(String text, Pageable page) {
+        List<Long> itemIds = itemRepository.searchIdsFullText(text, page);
+
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> items = itemRepository.findAllByIdIn(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return itemIds.stream().map(items::get).collect(Collectors.toList());
+    }
+
     private void checkItemExistsById(long itemId) throws ObjectNotFoundException {
         if (!itemRepository.existsById(itemId)) {
             throw new ObjectNotFoundException(
@@ -152,6 +250,46 @@ public class ItemServiceImpl implements ItemService, PageTrait {
         return item;
     }
 
+    private Collection<Item> setBookings(Collection<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        Collection<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, Booking> last = toBookingsByItemId(bookingRepository.findLastBookingsByItemIds(
+                itemIds, BookingStatus.APPROVED));
+        Map<Long, Booking> next = toBookingsByItemId(bookingRepository.findNextBookingsByItemIds(
+                itemIds, BookingStatus.APPROVED));
+
+        items.forEach(item -> {
+            item.setLastBooking(last.get(item.getId()));
+            item.setNextBooking(next.get(item.getId()));
+        });
+
+        return items;
+    }
+
+    private Map<Long, Booking> toBookingsByItemId(Collection<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+    }
+
+    private Collection<Item> setComments(Collection<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItemIdInOrderById(
+                        items.stream().map(Item::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        items.forEach(item -> item.setLoadedComments(comments.getOrDefault(item.getId(), new ArrayList<>())));
+
+        return items;
+    }
+
     private Optional<Booking> getLastBookingForItem(long itemId) {
         return bookingRepository.findFirstByItemIdAndStatusOrderByEnd(itemId,
                 BookingStatus.APPROVED);
@@ -163,16 +301,24 @@ public class ItemServiceImpl implements ItemService, PageTrait {
     }
 
     private void validateItem(Item item) throws ValidationException {
+        String error = findItemError(item);
+        if (error != null) {
+            throw new ValidationException(error, "CreateItem");
+        }
+    }
+
+    private String findItemError(Item item) {
         if (!StringUtils.hasText(item.getName())) {
-            throw new ValidationException("Name field is not filled in", "CreateItem");
+            return "Name field is not filled in";
         }
 
         if (item.getDescription() == null) {
-            throw new ValidationException("Description field is not filled in", "CreateItem");
+            return "Description field is not filled in";
         }
 
         if (item.getAvailable() == null) {
-            throw new ValidationException("Available field is not filled in", "CreateItem");
+            return "Available field is not filled in";
         }
+        return null;
     }
 }
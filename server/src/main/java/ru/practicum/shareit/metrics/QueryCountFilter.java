@@ -0,0 +1,81 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Records how many SQL statements each request executed, tagged like {@code http.server.requests} with the method
+ * and the matched URI template, so a handler that starts issuing a query per row shows up as a growing count.
+ * <p>
+ * The count is also returned in the {@link #HEADER_QUERY_COUNT} header. Headers cannot change once the body is
+ * being written, so it is taken when the body is opened: for a streamed export it covers the statements run
+ * before the first line only.
+ */
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "shareit.http.server.requests.queries";
+    public static final String HEADER_QUERY_COUNT = "X-Query-Count";
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        statementCounter.reset();
+        try {
+            chain.doFilter(request, new QueryCountResponse(response));
+            setQueryCountHeader(response);
+        } finally {
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements executed per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri(request))
+                    .register(meterRegistry)
+                    .record(statementCounter.get());
+            statementCounter.reset();
+        }
+    }
+
+    private void setQueryCountHeader(HttpServletResponse response) {
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER_QUERY_COUNT, String.valueOf(statementCounter.get()));
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private class QueryCountResponse extends HttpServletResponseWrapper {
+        QueryCountResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setQueryCountHeader(this);
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setQueryCountHeader(this);
+            return super.getWriter();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. A batched insert counts once, however many
+ * rows it carries. Statements run through a plain {@code JdbcTemplate} bypass Hibernate and are not counted.
+ */
+public class StatementCounter implements StatementInspector {
+    private final ThreadLocal<Long> count = ThreadLocal.withInitial(() -> 0L);
+
+    @Override
+    public String inspect(String sql) {
+        count.set(count.get() + 1);
+        return sql;
+    }
+
+    public long get() {
+        return count.get();
+    }
+
+    public void reset() {
+        count.remove();
+    }
+}
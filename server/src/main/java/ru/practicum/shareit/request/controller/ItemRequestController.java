@@ -7,9 +7,13 @@ import ru.practicum.shareit.exc.ValidationException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.trait.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,23 +36,45 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public Collection<ItemRequestDto> findItemRequestsByUserId(@RequestHeader(HEADER_USER_ID) long userId)
-            throws ObjectNotFoundException {
-        return itemRequestService.findItemRequestsByUser(userId)
+    public Collection<ItemRequestDto> findItemRequestsByUserId(@RequestHeader(HEADER_USER_ID) long userId,
+                                                               @RequestParam(defaultValue = "0") int from,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               @RequestParam(required = false) String after,
+                                                               HttpServletResponse response)
+            throws ValidationException {
+        List<ItemRequestWithItems> itemRequests = after == null
+                ? itemRequestService.findItemRequestsByUser(userId, from, size)
+                : itemRequestService.findItemRequestsByUser(userId, after, size);
+
+        List<ItemRequestDto> itemRequestDtos = itemRequests
                 .stream()
                 .map(itemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
+
+        PageCursor.next(itemRequestDtos, size, ItemRequestDto::getCreated, ItemRequestDto::getId)
+                .ifPresent(cursor -> response.setHeader(PageCursor.HEADER_NEXT_CURSOR, cursor));
+        return itemRequestDtos;
     }
 
     @GetMapping("/all")
     public Collection<ItemRequestDto> findAllItemRequest(@RequestHeader(HEADER_USER_ID) long userId,
                                                          @RequestParam(defaultValue = "0") int from,
-                                                         @RequestParam(defaultValue = "20") int size)
-            throws ObjectNotFoundException {
-        return itemRequestService.findAllItemRequest(userId, from, size)
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         @RequestParam(required = false) String after,
+                                                         HttpServletResponse response)
+            throws ValidationException {
+        Collection<ItemRequest> itemRequests = after == null
+                ? itemRequestService.findAllItemRequest(userId, from, size)
+                : itemRequestService.findAllItemRequest(userId, after, size);
+
+        List<ItemRequestDto> itemRequestDtos = itemRequests
                 .stream()
                 .map(itemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
+
+        PageCursor.next(itemRequestDtos, size, ItemRequestDto::getCreated, ItemRequestDto::getId)
+                .ifPresent(cursor -> response.setHeader(PageCursor.HEADER_NEXT_CURSOR, cursor));
+        return itemRequestDtos;
     }
 
     @GetMapping("/{requestId}")
@@ -4,6 +4,9 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestItemView;
+import ru.practicum.shareit.request.model.ItemRequestView;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Optional;
@@ -22,6 +25,22 @@ public class ItemRequestMapper {
         );
     }
 
+    public ItemRequestDto toItemRequestDto(ItemRequestWithItems itemRequestWithItems) {
+        ItemRequestView itemRequest = itemRequestWithItems.getRequest();
+
+        return new ItemRequestDto(
+                itemRequest.getId(),
+                itemRequest.getDescription(),
+                new ItemRequestDto.User(
+                        itemRequest.getRequestorId(),
+                        itemRequest.getRequestorName(),
+                        itemRequest.getRequestorEmail()
+                ),
+                itemRequest.getCreated(),
+                itemRequestWithItems.getItems().stream().map(this::toItemItemRequest).collect(Collectors.toList())
+        );
+    }
+
     public ItemRequest toItemRequest(ItemRequestDto itemRequestDto) {
         return new ItemRequest(
                 itemRequestDto.getId(),
@@ -59,6 +78,16 @@ public class ItemRequestMapper {
         );
     }
 
+    private ItemRequestDto.Item toItemItemRequest(ItemRequestItemView item) {
+        return new ItemRequestDto.Item(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId()
+        );
+    }
+
     private Item toItem(ItemRequestDto.Item itemItemRequestDto) {
         return new Item(
                 itemItemRequestDto.getId(),
@@ -69,6 +98,7 @@ public class ItemRequestMapper {
                 new ItemRequest(itemItemRequestDto.getId(), null, null, null, null),
                 null,
                 null,
+                null,
                 null
         );
     }
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -12,25 +15,52 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = ItemRequest.WITH_REQUESTOR, attributeNodes = @NamedAttributeNode("requestor"))
+@NamedEntityGraph(name = ItemRequest.WITH_ITEMS,
+        attributeNodes = {@NamedAttributeNode("requestor"), @NamedAttributeNode(value = "items", subgraph = "items")},
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("owner")))
 @Data
 @Table(name = "item_requests")
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class ItemRequest {
+    public static final String WITH_REQUESTOR = "ItemRequest.withRequestor";
+    public static final String WITH_ITEMS = "ItemRequest.withItems";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String description;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id")
     private User requestor;
 
     private LocalDateTime created;
 
+    @ToString.Exclude
     @OneToMany()
     @JoinColumn(name = "request_id")
     private Collection<Item> items;
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ItemRequest)) {
+            return false;
+        }
+        return id != null && id.equals(((ItemRequest) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : ItemRequest.class.hashCode();
+    }
+}
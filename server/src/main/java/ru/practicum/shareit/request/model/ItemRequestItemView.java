@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request.model;
+
+/**
+ * An item offered in answer to a request, as listed under the request.
+ */
+public interface ItemRequestItemView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a request and its requestor that {@code ItemRequestDto} shows, read without loading entities.
+ */
+public interface ItemRequestView {
+    Long getId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+
+    Long getRequestorId();
+
+    String getRequestorName();
+
+    String getRequestorEmail();
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class ItemRequestWithItems {
+    private final ItemRequestView request;
+    private final List<ItemRequestItemView> items;
+}
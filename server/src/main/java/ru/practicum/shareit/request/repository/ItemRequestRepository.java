@@ -1,14 +1,69 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestItemView;
+import ru.practicum.shareit.request.model.ItemRequestView;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    Collection<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(long userId);
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
 
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @EntityGraph(ItemRequest.WITH_REQUESTOR)
     List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDesc(long userId, Pageable page);
+
+    @EntityGraph(ItemRequest.WITH_REQUESTOR)
+    @Query("select r " +
+            "from ItemRequest r " +
+            "where r.requestor.id <> :userId" +
+            " and (r.created < :created or (r.created = :created and r.id < :requestId))")
+    List<ItemRequest> findAllByRequestorIdNotAndCreatedBefore(long userId, LocalDateTime created, long requestId,
+                                                              Pageable page);
+
+    @Query("select r.id as id, r.description as description, r.created as created," +
+            " u.id as requestorId, u.name as requestorName, u.email as requestorEmail " +
+            "from ItemRequest r " +
+            "join r.requestor u " +
+            "where u.id = :userId")
+    List<ItemRequestView> findViewsByRequestorId(long userId, Pageable page);
+
+    @Query("select r.id as id, r.description as description, r.created as created," +
+            " u.id as requestorId, u.name as requestorName, u.email as requestorEmail " +
+            "from ItemRequest r " +
+            "join r.requestor u " +
+            "where u.id = :userId" +
+            " and (r.created < :created or (r.created = :created and r.id < :requestId))")
+    List<ItemRequestView> findViewsByRequestorIdAndCreatedBefore(long userId, LocalDateTime created, long requestId,
+                                                                 Pageable page);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available," +
+            " i.request.id as requestId " +
+            "from Item i " +
+            "where i.request.id in :requestIds " +
+            "order by i.id")
+    List<ItemRequestItemView> findItemViewsByRequestIdIn(Collection<Long> requestIds);
+
+    @EntityGraph(ItemRequest.WITH_ITEMS)
+    Optional<ItemRequest> findWithItemsById(long requestId);
+
+    /**
+     * Initializes the items of requests already loaded in this persistence context, owners included, with
+     * a single select. Fetching the collection in the paged query itself would make Hibernate page in memory.
+     */
+    @Query("select distinct r " +
+            "from ItemRequest r " +
+            "left join fetch r.items i " +
+            "left join fetch i.owner " +
+            "where r in :itemRequests")
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<ItemRequest> fetchItems(Collection<ItemRequest> itemRequests);
 }
@@ -3,17 +3,23 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.ValidationException;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemRequestService {
 
     ItemRequest createItemRequest(long userId, ItemRequest toItem) throws ValidationException;
 
-    Collection<ItemRequest> findItemRequestsByUser(long userId) throws ObjectNotFoundException;
+    List<ItemRequestWithItems> findItemRequestsByUser(long userId, int from, int size) throws ObjectNotFoundException;
+
+    List<ItemRequestWithItems> findItemRequestsByUser(long userId, String after, int size) throws ValidationException;
 
     Collection<ItemRequest> findAllItemRequest(long userId, int from, int size) throws ObjectNotFoundException;
 
+    Collection<ItemRequest> findAllItemRequest(long userId, String after, int size) throws ValidationException;
+
     ItemRequest findItemRequestById(long userId, long requestId) throws ObjectNotFoundException;
 
     void checkItemRequestExistsById(long requestId) throws ObjectNotFoundException;
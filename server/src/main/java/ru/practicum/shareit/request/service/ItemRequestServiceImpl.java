@@ -5,16 +5,24 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.ValidationException;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestItemView;
+import ru.practicum.shareit.request.model.ItemRequestView;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.trait.PageCursor;
 import ru.practicum.shareit.trait.PageTrait;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,6 +32,7 @@ public class ItemRequestServiceImpl implements ItemRequestService, PageTrait {
     private final ItemRequestRepository itemRequestRepository;
 
     @Override
+    @Transactional
     public ItemRequest createItemRequest(long userId, ItemRequest itemRequest) throws ValidationException {
         User user = userService.findUserById(userId);
         validateItemRequest(itemRequest);
@@ -38,27 +47,56 @@ public class ItemRequestServiceImpl implements ItemRequestService, PageTrait {
     }
 
     @Override
-    public Collection<ItemRequest> findItemRequestsByUser(long userId) throws ObjectNotFoundException {
+    @Transactional(readOnly = true)
+    public List<ItemRequestWithItems> findItemRequestsByUser(long userId, int from, int size)
+            throws ObjectNotFoundException {
         userService.checkUserId(userId);
+        Pageable page = getPage(from, size, "created", Sort.Direction.DESC);
 
-        return itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId);
+        return withItemViews(itemRequestRepository.findViewsByRequestorId(userId, page));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestWithItems> findItemRequestsByUser(long userId, String after, int size)
+            throws ValidationException {
+        userService.checkUserId(userId);
+        PageCursor cursor = PageCursor.decode(after);
+        Pageable page = getPageAfter(size, "created", Sort.Direction.DESC);
+
+        return withItemViews(itemRequestRepository.findViewsByRequestorIdAndCreatedBefore(userId,
+                cursor.getKeyAsDateTime(), cursor.getId(), page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Collection<ItemRequest> findAllItemRequest(long userId, int from, int size)
             throws ObjectNotFoundException {
         userService.checkUserId(userId);
 
-        Pageable page = getPage(from, size, "created", Sort.Direction.ASC);
+        Pageable page = getPage(from, size, "created", Sort.Direction.DESC);
 
-        return itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId, page);
+        return withItems(itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId, page));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemRequest> findAllItemRequest(long userId, String after, int size)
+            throws ValidationException {
+        userService.checkUserId(userId);
+        PageCursor cursor = PageCursor.decode(after);
+        Pageable page = getPageAfter(size, "created", Sort.Direction.DESC);
+
+        return withItems(itemRequestRepository.findAllByRequestorIdNotAndCreatedBefore(userId,
+                cursor.getKeyAsDateTime(), cursor.getId(), page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ItemRequest findItemRequestById(long userId, long requestId) throws ObjectNotFoundException {
         userService.checkUserId(userId);
 
-        return itemRequestRepository.findById(
+        return itemRequestRepository.findWithItemsById(
                 requestId).orElseThrow(() -> new ObjectNotFoundException(
                         String.format("No request for an item with id %d", requestId),
                         "GetItemRequestById"
@@ -76,6 +114,28 @@ public class ItemRequestServiceImpl implements ItemRequestService, PageTrait {
         }
     }
 
+    private List<ItemRequest> withItems(List<ItemRequest> itemRequests) {
+        if (!itemRequests.isEmpty()) {
+            itemRequestRepository.fetchItems(itemRequests);
+        }
+        return itemRequests;
+    }
+
+    private List<ItemRequestWithItems> withItemViews(List<ItemRequestView> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ItemRequestItemView>> items = itemRequestRepository.findItemViewsByRequestIdIn(
+                        itemRequests.stream().map(ItemRequestView::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(ItemRequestItemView::getRequestId));
+
+        return itemRequests.stream()
+                .map(itemRequest -> new ItemRequestWithItems(itemRequest,
+                        items.getOrDefault(itemRequest.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     private void validateItemRequest(ItemRequest itemRequest) throws ValidationException {
         if (itemRequest.getDescription() == null) {
             throw new ValidationException("The description field is empty", "CreateItem");
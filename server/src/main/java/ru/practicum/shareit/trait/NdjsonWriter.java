@@ -0,0 +1,48 @@
+package ru.practicum.shareit.trait;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one JSON document per line straight to the servlet response, which flushes to the client as its buffer
+ * fills. The content type is only set once there is output, so an exception thrown before the first line, such as
+ * an unknown user, is still rendered by the error handler as a regular JSON error.
+ */
+public class NdjsonWriter {
+    private final ObjectWriter writer;
+    private final HttpServletResponse response;
+    private OutputStream out;
+
+    public NdjsonWriter(ObjectMapper objectMapper, HttpServletResponse response) {
+        this.writer = objectMapper.writer();
+        this.response = response;
+    }
+
+    public void write(Object value) {
+        try {
+            OutputStream out = start();
+            out.write(writer.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() throws IOException {
+        start().flush();
+    }
+
+    private OutputStream start() throws IOException {
+        if (out == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            out = response.getOutputStream();
+        }
+        return out;
+    }
+}
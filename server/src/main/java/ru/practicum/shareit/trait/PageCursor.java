@@ -0,0 +1,57 @@
+package ru.practicum.shareit.trait;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exc.InvalidParamException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageCursor {
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    private final String key;
+    private final long id;
+
+    public static String encode(Object key, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) throws InvalidParamException {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+
+            return new PageCursor(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidParamException(String.format("Invalid cursor: %s", token), "DecodePageCursor");
+        }
+    }
+
+    public static <T> Optional<String> next(List<T> page, int size, Function<T, Object> key, Function<T, Long> id) {
+        if (page.isEmpty() || page.size() < size) {
+            return Optional.empty();
+        }
+        T last = page.get(page.size() - 1);
+
+        return Optional.of(encode(key.apply(last), id.apply(last)));
+    }
+
+    public LocalDateTime getKeyAsDateTime() throws InvalidParamException {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidParamException(String.format("Invalid cursor key: %s", key), "DecodePageCursor");
+        }
+    }
+}
@@ -6,8 +6,20 @@ import org.springframework.data.domain.Sort;
 
 public interface PageTrait {
     default Pageable getPage(int from, int size, String sort, Sort.Direction direction) {
-        Sort sortById = Sort.by(direction, sort);
+        return PageRequest.of((from / size), size, getSort(sort, direction));
+    }
+
+    default Pageable getPage(int from, int size) {
+        return PageRequest.of((from / size), size);
+    }
+
+    default Pageable getPageAfter(int size, String sort, Sort.Direction direction) {
+        return PageRequest.of(0, size, getSort(sort, direction));
+    }
+
+    private Sort getSort(String sort, Sort.Direction direction) {
+        Sort sortBy = Sort.by(direction, sort);
 
-        return PageRequest.of((from / size), size, sortById);
+        return "id".equals(sort) ? sortBy : sortBy.and(Sort.by(direction, "id"));
     }
 }
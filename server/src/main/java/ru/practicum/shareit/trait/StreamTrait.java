@@ -0,0 +1,53 @@
+package ru.practicum.shareit.trait;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public interface StreamTrait {
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Reads the query through a server-side cursor, {@link #STREAM_FETCH_SIZE} rows per round trip.
+     * Rows are read-only and neither read from nor put into the second-level cache, so a long export does not
+     * push the hot entries out of it. Hibernate loads scrolled rows with the session's cache mode rather than the
+     * query's, so the session ignores the cache until the stream is closed. Must be consumed inside a transaction,
+     * with {@link #forEach} when the query can return more rows than the persistence context should hold, and
+     * closed afterwards.
+     */
+    default <T> Stream<T> stream(EntityManager entityManager, TypedQuery<T> query) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+
+        return query
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_CACHEABLE, false)
+                .getResultStream()
+                .onClose(() -> session.setCacheMode(cacheMode));
+    }
+
+    /**
+     * Hands every row to the consumer and clears the persistence context after each {@link #STREAM_FETCH_SIZE}
+     * handled rows, so that memory use does not grow with the number of rows. A row stays managed while the
+     * consumer works on it; consumers should not keep rows around afterwards.
+     */
+    default <T> void forEach(EntityManager entityManager, Stream<T> rows, Consumer<? super T> consumer) {
+        Iterator<T> iterator = rows.iterator();
+        long handled = 0;
+
+        while (iterator.hasNext()) {
+            consumer.accept(iterator.next());
+            if (++handled % STREAM_FETCH_SIZE == 0) {
+                entityManager.clear();
+            }
+        }
+    }
+}
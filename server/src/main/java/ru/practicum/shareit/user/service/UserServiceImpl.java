@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -25,19 +26,28 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User findUserById(long userId) throws ObjectNotFoundException {
         return userRepository.findById(userId).orElseThrow(() -> new ObjectNotFoundException(
                 String.format("User with id %d does not exist", userId), "GetUserById"));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<User> findAllUsers() {
         return userRepository.findAll();
     }
 
     @Override
+    @Transactional
     public User updateUser(long userId, User user) throws ObjectNotFoundException {
-        User userUpdated = findUserById(userId);
+        User userFound = findUserById(userId);
+        // the found user may be the instance held by the users cache, so the changes go to a copy
+        User userUpdated = User.builder()
+                .id(userFound.getId())
+                .name(userFound.getName())
+                .email(userFound.getEmail())
+                .build();
 
         Optional.ofNullable(user.getEmail()).ifPresent(userUpdated::setEmail);
         Optional.ofNullable(user.getName()).ifPresent(userUpdated::setName);
@@ -47,6 +57,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(long userId) throws ObjectNotFoundException {
         checkUserId(userId);
 
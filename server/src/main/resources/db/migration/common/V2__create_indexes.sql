@@ -0,0 +1,29 @@
+-- findAllByBookerId / CURRENT, PAST, FUTURE states for a booker, ordered by start
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_START ON bookings (booker_id, start_date_time DESC, id DESC);
+
+-- findAllByBookerIdAndStatus (WAITING, REJECTED) ordered by start
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_STATUS_START ON bookings (booker_id, status, start_date_time DESC);
+
+-- existsByBookerIdAndItemIdAndStatusAndStartBefore (comment eligibility)
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_ITEM_STATUS ON bookings (booker_id, item_id, status, start_date_time);
+
+-- last/next booking lookups by item and status ordered by end
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_STATUS_END ON bookings (item_id, status, end_date_time);
+
+-- owner booking lists: items of the owner joined to their bookings, ordered by start
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_START ON bookings (item_id, start_date_time DESC, id DESC);
+
+-- findAllByOwnerId, keyset paging by id
+CREATE INDEX IF NOT EXISTS IX_ITEM_OWNER_ID ON items (owner_id, id);
+
+-- items answering a request
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUEST ON items (request_id);
+
+-- comments loaded for a page of items
+CREATE INDEX IF NOT EXISTS IX_COMMENT_ITEM ON comments (item_id);
+
+-- findViewsByRequestorId / findViewsByRequestorIdAndCreatedBefore, the requester's own requests by created
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUEST_REQUESTER_CREATED ON item_requests (requester_id, created DESC);
+
+-- findAllByRequestorIdNot... ordered by created, keyset paging by (created, id)
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUEST_CREATED ON item_requests (created DESC, id DESC);
@@ -0,0 +1,8 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+  GENERATED ALWAYS AS (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS IX_ITEM_SEARCH_VECTOR ON items USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS IX_ITEM_NAME_TRGM ON items USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS IX_ITEM_DESCRIPTION_TRGM ON items USING GIN (description gin_trgm_ops);
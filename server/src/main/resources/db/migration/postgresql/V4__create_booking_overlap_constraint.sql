@@ -0,0 +1,27 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- approvals made before the constraint may overlap: in id order, an approved booking that overlaps one still
+-- approved goes back to WAITING for its owner to decide again
+DO $$
+DECLARE
+  conflicting RECORD;
+BEGIN
+  FOR conflicting IN
+    SELECT b.id FROM bookings b
+    WHERE b.status = 'APPROVED'
+      AND EXISTS (SELECT 1 FROM bookings e
+                  WHERE e.item_id = b.item_id AND e.status = 'APPROVED' AND e.id < b.id
+                    AND tsrange(e.start_date_time, e.end_date_time) && tsrange(b.start_date_time, b.end_date_time))
+    ORDER BY b.id
+  LOOP
+    UPDATE bookings b SET status = 'WAITING'
+    WHERE b.id = conflicting.id
+      AND EXISTS (SELECT 1 FROM bookings e
+                  WHERE e.item_id = b.item_id AND e.status = 'APPROVED' AND e.id < b.id
+                    AND tsrange(e.start_date_time, e.end_date_time) && tsrange(b.start_date_time, b.end_date_time));
+  END LOOP;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT EX_BOOKING_APPROVED_OVERLAP
+  EXCLUDE USING GIST (item_id WITH =, tsrange(start_date_time, end_date_time) WITH &&)
+  WHERE (status = 'APPROVED');
@@ -7,26 +7,42 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequestDto;
 import ru.practicum.shareit.booking.dto.CreatedBookingDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exc.BookingConflictException;
+import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.UserHasNoRightsException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.trait.PageCursor;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +70,9 @@ class BookingControllerTest {
             .end(LocalDateTime.now().plusDays(2)).item(mockItem).booker(mockBooker).status(BookingStatus.WAITING)
             .build();
 
+    private final BookingView mockBookingView = new BookingView(1L, mockBooking.getStart(), mockBooking.getEnd(),
+            BookingStatus.WAITING, 1L, "Item", "ItemDescription", true, 1L, 2L, "Booker", "Booker@host.com");
+
     private final CreatedBookingDto mockCreatedBookingDto = CreatedBookingDto.builder().id(1L)
             .start(LocalDateTime.now().plusDays(3)).end(LocalDateTime.now().plusDays(4)).itemId(1L)
             .build();
@@ -88,7 +107,7 @@ class BookingControllerTest {
     @Test
     void testSetApproved() throws Exception {
         when(bookingService.setApproved(anyLong(), anyLong(), anyBoolean())).thenReturn(mockBooking);
-        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any());
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(Booking.class));
 
         mockMvc.perform(patch("/bookings/1")
                         .content(objectMapper.writeValueAsString(mockBookingDto))
@@ -126,10 +145,70 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.error", is("TestSetApprovedWithoutRights")));
     }
 
+    @Test
+    void testSetApprovedBatch() throws Exception {
+        BookingApproval approval = new BookingApproval(1L, BookingStatus.APPROVED, null);
+        when(bookingService.setApproved(anyLong(), anyCollection(), anyBoolean())).thenReturn(List.of(approval));
+        doReturn(new BookingApprovalDto(1L, BookingStatus.APPROVED, null))
+                .when(bookingMapper).toBookingApprovalDto(approval);
+
+        mockMvc.perform(patch("/bookings")
+                        .content(objectMapper.writeValueAsString(new BookingApprovalRequestDto(List.of(1L))))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("approved", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].bookingId", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].status", is(BookingStatus.APPROVED.toString())))
+                .andExpect(jsonPath("$[0].error").doesNotExist());
+
+        verify(bookingService).setApproved(1L, List.of(1L), true);
+    }
+
+    @Test
+    void testSetApprovedBatch_FailedValidation() throws Exception {
+        Map<String, Object> emptyIds = Map.of("bookingIds", List.of());
+        Map<String, Object> nullId = Map.of("bookingIds", Arrays.asList(1L, null));
+        Map<String, Object> negativeId = Map.of("bookingIds", List.of(-1L));
+        Map<String, Object> tooManyIds = Map.of("bookingIds",
+                LongStream.rangeClosed(1, BookingApprovalRequestDto.MAX_BOOKINGS + 1).boxed().collect(toList()));
+
+        for (Map<String, Object> body : List.of(Map.<String, Object>of(), emptyIds, nullId, negativeId, tooManyIds)) {
+            mockMvc.perform(patch("/bookings")
+                            .content(objectMapper.writeValueAsString(body))
+                            .characterEncoding(StandardCharsets.UTF_8)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .header(HEADER_USER_ID, 1)
+                            .queryParam("approved", "true"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void testSetApproved_Conflict() throws Exception {
+        when(bookingService.setApproved(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new BookingConflictException("TestSetApprovedConflict", "TestSetApprovedConflict"));
+
+        mockMvc.perform(patch("/bookings/1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("approved", "true"))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error", is("TestSetApprovedConflict")));
+    }
+
     @Test
     void testFindItemById() throws Exception {
-        when(bookingService.findBookingById(anyLong(), anyLong())).thenReturn(mockBooking);
-        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any());
+        when(bookingService.findBookingViewById(anyLong(), anyLong())).thenReturn(mockBookingView);
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(BookingView.class));
 
         mockMvc.perform(get("/bookings/1")
                         .content(objectMapper.writeValueAsString(mockBookingDto))
@@ -152,8 +231,8 @@ class BookingControllerTest {
     @Test
     void testFindAllByBookerId() throws Exception {
         when(bookingService.findAllByBookerId(anyLong(), any(BookingState.class), anyInt(), anyInt()))
-                .thenReturn(List.of(mockBooking));
-        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any());
+                .thenReturn(List.of(mockBookingView));
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(BookingView.class));
 
         mockMvc.perform(get("/bookings")
                         .content(objectMapper.writeValueAsString(mockBookingDto))
@@ -173,12 +252,70 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].status", is(mockBookingDto.getStatus().toString())));
     }
 
+    @Test
+    void testFindAllByBookerId_After() throws Exception {
+        String after = PageCursor.encode(mockBookingDto.getStart(), 2L);
+        when(bookingService.findAllByBookerId(anyLong(), any(BookingState.class), eq(after), eq(1)))
+                .thenReturn(List.of(mockBookingView));
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(BookingView.class));
+
+        mockMvc.perform(get("/bookings")
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("after", after)
+                        .queryParam("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.HEADER_NEXT_CURSOR,
+                        PageCursor.encode(mockBookingDto.getStart(), mockBookingDto.getId())))
+                .andExpect(jsonPath("$.[0].id", is(mockBookingDto.getId()), Long.class));
+    }
+
+    @Test
+    void testExportAllByOwnerId() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Booking> consumer = invocation.getArgument(2);
+            consumer.accept(mockBooking);
+            consumer.accept(mockBooking);
+            return null;
+        }).when(bookingService).exportAllByOwnerId(anyLong(), eq(BookingState.PAST), any());
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(Booking.class));
+        String line = objectMapper.writeValueAsString(mockBookingDto) + "\n";
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("state", "PAST"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line + line));
+    }
+
+    @Test
+    void testExportAllByBookerId_Empty() throws Exception {
+        mockMvc.perform(get("/bookings/export")
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(""));
+
+        verify(bookingService).exportAllByBookerId(eq(1L), eq(BookingState.ALL), any());
+    }
+
+    @Test
+    void testExportAllByBookerId_WrongUser() throws Exception {
+        doThrow(new ObjectNotFoundException("TestExportByWrongUser", "TestExportByWrongUser"))
+                .when(bookingService).exportAllByBookerId(anyLong(), any(), any());
+
+        mockMvc.perform(get("/bookings/export")
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error", is("TestExportByWrongUser")));
+    }
 
     @Test
     void testFindAllByOwnerId() throws Exception {
         when(bookingService.findAllByOwnerId(anyLong(), any(BookingState.class), anyInt(), anyInt()))
-                .thenReturn(List.of(mockBooking));
-        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any());
+                .thenReturn(List.of(mockBookingView));
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(BookingView.class));
 
         mockMvc.perform(get("/bookings/owner")
                         .content(objectMapper.writeValueAsString(mockBookingDto))
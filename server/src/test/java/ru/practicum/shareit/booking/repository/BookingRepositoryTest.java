@@ -8,7 +8,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -17,6 +20,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -65,7 +69,7 @@ class BookingRepositoryTest {
             .item(mockItem2).booker(mockUserFirst).status(BookingStatus.REJECTED).build();
 
     @Test
-    void testFindAllByBookerId() {
+    void testFindAllByBooker_StateAll() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -78,15 +82,16 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByBookerId(2L, page);
+        Collection<BookingView> bookings = findAll(BookingRole.BOOKER, 2L, BookingState.ALL, LocalDateTime.now(), page);
 
         assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking2);
+        assertThat(bookings).extracting(BookingView::getId)
+                .hasSize(2).contains(mockBooking1.getId(), mockBooking2.getId());
     }
 
 
     @Test
-    void testFindAllByBookerIdAndEndIsBefore() {
+    void testFindAllByBooker_StatePast() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -99,15 +104,15 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByBookerIdAndEndIsBefore(2L,
+        Collection<BookingView> bookings = findAll(BookingRole.BOOKER, 2L, BookingState.PAST,
                 LocalDateTime.now().plusDays(15), page);
 
         assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(1).contains(mockBooking1);
+        assertThat(bookings).extracting(BookingView::getId).hasSize(1).contains(mockBooking1.getId());
     }
 
     @Test
-    void testFindAllByBookerId_StartIsAfter() {
+    void testFindAllByBooker_StateFuture() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -120,14 +125,16 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByBookerAndFutureState(2L, page);
+        Collection<BookingView> bookings = findAll(BookingRole.BOOKER, 2L, BookingState.FUTURE,
+                LocalDateTime.now(), page);
 
         assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking2);
+        assertThat(bookings).extracting(BookingView::getId)
+                .hasSize(2).contains(mockBooking1.getId(), mockBooking2.getId());
     }
 
     @Test
-    void testFindAllByBookerId_Status() {
+    void testFindAllByBooker_StateRejected() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -140,15 +147,15 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByBookerIdAndStatus(1L,
-                BookingStatus.REJECTED, page);
+        Collection<BookingView> bookings = findAll(BookingRole.BOOKER, 1L, BookingState.REJECTED,
+                LocalDateTime.now(), page);
 
         assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(1).contains(mockBooking4);
+        assertThat(bookings).extracting(BookingView::getId).hasSize(1).contains(mockBooking4.getId());
     }
 
     @Test
-    void testFindAllByItemOwnerId() {
+    void testFindAllByOwner_StateAll() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -161,14 +168,15 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerId(1L, page);
+        Collection<BookingView> bookings = findAll(BookingRole.OWNER, 1L, BookingState.ALL, LocalDateTime.now(), page);
 
         assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking2);
+        assertThat(bookings).extracting(BookingView::getId)
+                .hasSize(2).contains(mockBooking1.getId(), mockBooking2.getId());
     }
 
     @Test
-    void testFindAllByItemOwnerId_EndIsAfterAndStartIsBefore() {
+    void testFindAllByOwner_StateCurrent() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -181,15 +189,15 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(1L,
-                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), page);
+        Collection<BookingView> bookings = findAll(BookingRole.OWNER, 1L, BookingState.CURRENT,
+                LocalDate.now().atStartOfDay().plusDays(1).plusHours(12), page);
 
         assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(1).contains(mockBooking1);
+        assertThat(bookings).extracting(BookingView::getId).hasSize(1).contains(mockBooking1.getId());
     }
 
     @Test
-    void testFindAllByItemOwnerId_EndIsBefore() {
+    void testFindAllByOwner_StatePast() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -202,14 +210,15 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndEndIsBefore(1L,
+        Collection<BookingView> bookings = findAll(BookingRole.OWNER, 1L, BookingState.PAST,
                 LocalDateTime.now().plusMonths(1).plusDays(4), page);
 
-        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking2);
+        assertThat(bookings).extracting(BookingView::getId)
+                .hasSize(2).contains(mockBooking1.getId(), mockBooking2.getId());
     }
 
     @Test
-    void testFindAllByItemOwnerId_StartIsAfter() {
+    void testFindAllByOwner_StateFuture() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -222,14 +231,15 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStartIsAfter(2L,
+        Collection<BookingView> bookings = findAll(BookingRole.OWNER, 2L, BookingState.FUTURE,
                 LocalDateTime.now().plusDays(2), page);
 
-        assertThat(bookings).hasSize(2).contains(mockBooking3, mockBooking4);
+        assertThat(bookings).extracting(BookingView::getId)
+                .hasSize(2).contains(mockBooking3.getId(), mockBooking4.getId());
     }
 
     @Test
-    void testFindAllByItemOwnerId_Status() {
+    void testFindAllByOwner_StateWaiting() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -242,10 +252,10 @@ class BookingRepositoryTest {
         Sort sortById = Sort.by(Sort.Direction.DESC, "start");
         Pageable page = PageRequest.of(PAGE, SIZE, sortById);
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStatus(1L,
-                BookingStatus.WAITING, page);
+        Collection<BookingView> bookings = findAll(BookingRole.OWNER, 1L, BookingState.WAITING,
+                LocalDateTime.now(), page);
 
-        assertThat(bookings).hasSize(1).contains(mockBooking1);
+        assertThat(bookings).extracting(BookingView::getId).hasSize(1).contains(mockBooking1.getId());
     }
 
     @Test
@@ -285,7 +295,7 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void testFindFirstByBookerIdAndItemId_StatusAndStartAreBefore() {
+    void testFindLastBookingsByItemIds() {
         userRepository.save(mockUserFirst);
         userRepository.save(mockUserSecond);
         itemRepository.save(mockItem1);
@@ -295,10 +305,91 @@ class BookingRepositoryTest {
         bookingRepository.save(mockBooking3);
         bookingRepository.save(mockBooking4);
 
-        Optional<Booking> bookings = bookingRepository.findFirstByBookerIdAndItemIdAndStatusAndStartBefore(1L,
-                2L, BookingStatus.WAITING, LocalDateTime.now().plusDays(7));
+        Collection<Booking> bookings = bookingRepository.findLastBookingsByItemIds(List.of(1L, 2L),
+                BookingStatus.WAITING);
 
-        assertThat(bookings).isPresent();
-        assertThat(bookings.get()).isEqualTo(mockBooking3);
+        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking3);
+    }
+
+    @Test
+    void testFindNextBookingsByItemIds() {
+        userRepository.save(mockUserFirst);
+        userRepository.save(mockUserSecond);
+        itemRepository.save(mockItem1);
+        itemRepository.save(mockItem2);
+        bookingRepository.save(mockBooking1);
+        bookingRepository.save(mockBooking2);
+        bookingRepository.save(mockBooking3);
+        bookingRepository.save(mockBooking4);
+
+        Collection<Booking> bookings = bookingRepository.findNextBookingsByItemIds(List.of(1L, 2L),
+                BookingStatus.APPROVED);
+
+        assertThat(bookings).hasSize(1).contains(mockBooking2);
+    }
+
+    @Test
+    void testFindAllBySpecification_StartBefore() {
+        userRepository.save(mockUserFirst);
+        userRepository.save(mockUserSecond);
+        itemRepository.save(mockItem1);
+        itemRepository.save(mockItem2);
+        bookingRepository.save(mockBooking1);
+        bookingRepository.save(mockBooking2);
+        bookingRepository.save(mockBooking3);
+        bookingRepository.save(mockBooking4);
+
+        Sort sortByStart = Sort.by(Sort.Direction.DESC, "start").and(Sort.by(Sort.Direction.DESC, "id"));
+        Pageable page = PageRequest.of(PAGE, 1, sortByStart);
+
+        Collection<BookingView> bookings = bookingRepository.findAllViews(BookingSpecifications.byBooker(2L)
+                .and(BookingSpecifications.byState(BookingState.ALL, LocalDateTime.now()))
+                .and(BookingSpecifications.startBefore(mockBooking2.getStart(), mockBooking2.getId())), page);
+
+        assertThat(bookings).extracting(BookingView::getId).hasSize(1).contains(mockBooking1.getId());
+    }
+
+    @Test
+    void testFindAllBySpecification_OwnerAndState() {
+        userRepository.save(mockUserFirst);
+        userRepository.save(mockUserSecond);
+        itemRepository.save(mockItem1);
+        itemRepository.save(mockItem2);
+        bookingRepository.save(mockBooking1);
+        bookingRepository.save(mockBooking2);
+        bookingRepository.save(mockBooking3);
+        bookingRepository.save(mockBooking4);
+
+        Sort sortByStart = Sort.by(Sort.Direction.DESC, "start").and(Sort.by(Sort.Direction.DESC, "id"));
+        Pageable page = PageRequest.of(PAGE, SIZE, sortByStart);
+
+        Collection<BookingView> bookings = bookingRepository.findAllViews(BookingSpecifications.byItemOwner(2L)
+                .and(BookingSpecifications.byState(BookingState.REJECTED, LocalDateTime.now()))
+                .and(BookingSpecifications.startBefore(LocalDateTime.now().plusYears(1), Long.MAX_VALUE)), page);
+
+        assertThat(bookings).extracting(BookingView::getId).hasSize(1).contains(mockBooking4.getId());
+    }
+
+    @Test
+    void testExistsByBookerIdAndItemId_StatusAndStartAreBefore() {
+        userRepository.save(mockUserFirst);
+        userRepository.save(mockUserSecond);
+        itemRepository.save(mockItem1);
+        itemRepository.save(mockItem2);
+        bookingRepository.save(mockBooking1);
+        bookingRepository.save(mockBooking2);
+        bookingRepository.save(mockBooking3);
+        bookingRepository.save(mockBooking4);
+
+        assertThat(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(1L, 2L,
+                BookingStatus.WAITING, LocalDateTime.now().plusDays(7))).isTrue();
+        assertThat(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(1L, 2L,
+                BookingStatus.APPROVED, LocalDateTime.now().plusDays(7))).isFalse();
+    }
+
+    private Collection<BookingView> findAll(BookingRole role, long userId, BookingState state, LocalDateTime now,
+                                            Pageable page) {
+        return bookingRepository.findAllViews(BookingSpecifications.byRole(role, userId)
+                .and(BookingSpecifications.byState(state, now)), page);
     }
 }
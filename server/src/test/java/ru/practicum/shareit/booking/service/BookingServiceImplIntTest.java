@@ -6,21 +6,37 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.exc.BookingConflictException;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.StatementCounter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCountAtMost;
 
 @SpringBootTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -29,6 +45,7 @@ class BookingServiceImplIntTest {
     private final UserService userService;
     private final ItemService itemService;
     private final BookingService bookingService;
+    private final StatementCounter statementCounter;
 
     private final User mockOwner = User.builder().id(1L).name("Owner").email("Owner@host.com").build();
 
@@ -57,7 +74,7 @@ class BookingServiceImplIntTest {
         bookingService.createBooking(mockBooker.getId(), mockBooking1);
         bookingService.createBooking(mockBooker.getId(), mockBooking2);
 
-        Collection<Booking> bookings = bookingService.findAllByBookerId(mockBooker.getId(),
+        Collection<BookingView> bookings = bookingService.findAllByBookerId(mockBooker.getId(),
                 BookingState.WAITING, 0, 20);
 
         assertThat(bookings, hasSize(2));
@@ -67,6 +84,210 @@ class BookingServiceImplIntTest {
         assertThat(bookings.stream().findFirst().get().getEnd(), equalTo(mockBooking2.getEnd()));
     }
 
+    @Test
+    void testFindBookingViewById() throws Exception {
+        userService.createUser(mockOwner);
+        userService.createUser(mockBooker);
+        itemService.createItem(mockOwner.getId(), mockItem);
+        bookingService.createBooking(mockBooker.getId(), mockBooking1);
+
+        BookingView booking = assertQueryCountAtMost(statementCounter, 2, () ->
+                bookingService.findBookingViewById(mockOwner.getId(), mockBooking1.getId()));
+
+        assertThat(booking.getItemName(), equalTo(mockItem.getName()));
+        assertThat(booking.getOwnerId(), equalTo(mockOwner.getId()));
+        assertThat(booking.getBookerEmail(), equalTo(mockBooker.getEmail()));
+        assertThat(booking.getStatus(), is(BookingStatus.WAITING));
+    }
+
+    @Test
+    void testFindAllByOwnerId_QueryCountDoesNotGrowWithBookings() throws Exception {
+        userService.createUser(mockOwner);
+        userService.createUser(mockBooker);
+        itemService.createItem(mockOwner.getId(), mockItem);
+        Item secondItem = itemService.createItem(mockOwner.getId(), Item.builder().name("SecondItem")
+                .description("SecondItemDescription").available(true).build());
+        for (int i = 0; i < 3; i++) {
+            book(mockItem, mockBooking1.getStart().plusDays(i), mockBooking1.getEnd().plusDays(i));
+            book(secondItem, mockBooking1.getStart().plusDays(i), mockBooking1.getEnd().plusDays(i));
+        }
+
+        Collection<BookingView> bookings = assertQueryCountAtMost(statementCounter, 2, () ->
+                bookingService.findAllByOwnerId(mockOwner.getId(), BookingState.ALL, 0, 20));
+
+        assertThat(bookings, hasSize(6));
+    }
+
+    @Test
+    void testCreateBooking_OverlapsApproved() throws Exception {
+        userService.createUser(mockOwner);
+        userService.createUser(mockBooker);
+        itemService.createItem(mockOwner.getId(), mockItem);
+        Booking booking = bookingService.createBooking(mockBooker.getId(), mockBooking2);
+        bookingService.setApproved(mockOwner.getId(), booking.getId(), true);
+
+        Booking overlapping = Booking.builder()
+                .start(mockBooking2.getStart().plusHours(12)).end(mockBooking2.getEnd().plusDays(1))
+                .item(mockItem).build();
+        Exception exception = assertThrows(BookingConflictException.class, () ->
+                bookingService.createBooking(mockBooker.getId(), overlapping));
+
+        assertEquals("Item with id 1 is already booked for this period", exception.getMessage());
+        assertThat(bookingService.createBooking(mockBooker.getId(), mockBooking1).getId(), notNullValue());
+    }
+
+    @Test
+    void testSetApproved_OverlapsApproved() throws Exception {
+        userService.createUser(mockOwner);
+        userService.createUser(mockBooker);
+        itemService.createItem(mockOwner.getId(), mockItem);
+        Booking first = bookingService.createBooking(mockBooker.getId(), mockBooking2);
+        Booking second = bookingService.createBooking(mockBooker.getId(), Booking.builder()
+                .start(mockBooking2.getStart()).end(mockBooking2.getEnd()).item(mockItem).build());
+        bookingService.setApproved(mockOwner.getId(), first.getId(), true);
+
+        assertThrows(BookingConflictException.class, () ->
+                bookingService.setApproved(mockOwner.getId(), second.getId(), true));
+
+        Booking rejected = bookingService.setApproved(mockOwner.getId(), second.getId(), false);
+        assertThat(rejected.getStatus(), is(BookingStatus.REJECTED));
+    }
+
+    @Test
+    void testSetApproved_Batch() throws Exception {
+        User stranger = User.builder().id(3L).name("Stranger").email("Stranger@host.com").build();
+        userService.createUser(mockOwner);
+        userService.createUser(mockBooker);
+        userService.createUser(stranger);
+        itemService.createItem(mockOwner.getId(), mockItem);
+        Item strangerItem = itemService.createItem(stranger.getId(), Item.builder()
+                .name("StrangerItem").description("StrangerItemDescription").available(true).build());
+        LocalDateTime start = LocalDate.now().atStartOfDay().plusDays(1);
+
+        long first = book(mockItem, start, start.plusDays(1));
+        long overlapping = book(mockItem, start.plusHours(12), start.plusDays(2));
+        long later = book(mockItem, start.plusDays(5), start.plusDays(6));
+        long approved = book(mockItem, start.plusDays(10), start.plusDays(11));
+        long foreign = book(strangerItem, start, start.plusDays(1));
+        bookingService.setApproved(mockOwner.getId(), approved, true);
+
+        List<BookingApproval> results = bookingService.setApproved(mockOwner.getId(),
+                List.of(first, overlapping, later, approved, 999L, foreign, first), true);
+
+        assertThat(results, contains(
+                new BookingApproval(first, BookingStatus.APPROVED, null),
+                new BookingApproval(overlapping, BookingStatus.WAITING,
+                        "Item with id 1 is already booked for this period"),
+                new BookingApproval(later, BookingStatus.APPROVED, null),
+                new BookingApproval(approved, BookingStatus.APPROVED,
+                        String.format("Reservation with id %d is not pending confirmation", approved)),
+                new BookingApproval(999L, null, "Booking with id 999 does not exist"),
+                new BookingApproval(foreign, BookingStatus.WAITING, "User with id 1 has no right to change status")));
+        assertThat(bookingService.findBookingById(mockOwner.getId(), first).getStatus(), is(BookingStatus.APPROVED));
+        assertThat(bookingService.findBookingById(mockOwner.getId(), overlapping).getStatus(),
+                is(BookingStatus.WAITING));
+        assertThat(bookingService.findBookingById(stranger.getId(), foreign).getStatus(), is(BookingStatus.WAITING));
+    }
+
+    @Test
+    void testSetApproved_BatchRejected() throws Exception {
+        userService.createUser(mockOwner);
+        userService.createUser(mockBooker);
+        itemService.createItem(mockOwner.getId(), mockItem);
+        LocalDateTime start = LocalDate.now().atStartOfDay().plusDays(1);
+        long first = book(mockItem, start, start.plusDays(1));
+        long overlapping = book(mockItem, start.plusHours(12), start.plusDays(2));
+
+        List<BookingApproval> results = bookingService.setApproved(mockOwner.getId(), List.of(first, overlapping),
+                false);
+
+        assertThat(results, contains(
+                new BookingApproval(first, BookingStatus.REJECTED, null),
+                new BookingApproval(overlapping, BookingStatus.REJECTED, null)));
+        assertThat(bookingService.findAllByOwnerId(mockOwner.getId(), BookingState.REJECTED, 0, 20), hasSize(2));
+    }
+
+    @Test
+    void testCreateAndApprove_ConcurrentlyForOneItem() throws Exception {
+        userService.createUser(mockOwner);
+        userService.createUser(mockBooker);
+        itemService.createItem(mockOwner.getId(), mockItem);
+
+        int requests = 32;
+        LocalDateTime start = LocalDate.now().atStartOfDay().plusDays(1);
+        CountDownLatch ready = new CountDownLatch(requests);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<Future<Long>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                // every period overlaps with all the others by at least a day
+                Booking booking = Booking.builder()
+                        .start(start.plusHours(i % 12)).end(start.plusDays(2).plusHours(i % 7))
+                        .item(mockItem).build();
+                Callable<Long> request = () -> {
+                    ready.countDown();
+                    ready.await();
+                    try {
+                        Booking created = bookingService.createBooking(mockBooker.getId(), booking);
+                        return bookingService.setApproved(mockOwner.getId(), created.getId(), true).getId();
+                    } catch (BookingConflictException e) {
+                        return null;
+                    }
+                };
+                results.add(executor.submit(request));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES), is(true));
+
+        List<Long> approved = new ArrayList<>();
+        for (Future<Long> result : results) {
+            try {
+                if (result.get() != null) {
+                    approved.add(result.get());
+                }
+            } catch (ExecutionException e) {
+                throw new AssertionError(e.getCause());
+            }
+        }
+
+        assertThat(approved, hasSize(1));
+        assertThat(bookingService.findBookingById(mockOwner.getId(), approved.get(0)).getStatus(),
+                is(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void testExportAllByOwnerId() throws Exception {
+        userService.createUser(mockOwner);
+        userService.createUser(mockBooker);
+        itemService.createItem(mockOwner.getId(), mockItem);
+        Booking first = bookingService.createBooking(mockBooker.getId(), mockBooking1);
+        Booking second = bookingService.createBooking(mockBooker.getId(), mockBooking2);
+        bookingService.setApproved(mockOwner.getId(), second.getId(), false);
+        List<Booking> exported = new ArrayList<>();
+
+        bookingService.exportAllByOwnerId(mockOwner.getId(), BookingState.ALL, exported::add);
+
+        assertThat(exported.stream().map(Booking::getId).collect(Collectors.toList()),
+                contains(first.getId(), second.getId()));
+        assertThat(exported.get(0).getItem().getOwner().getName(), equalTo(mockOwner.getName()));
+        assertThat(exported.get(0).getBooker().getName(), equalTo(mockBooker.getName()));
+
+        exported.clear();
+        bookingService.exportAllByBookerId(mockBooker.getId(), BookingState.REJECTED, exported::add);
+
+        assertThat(exported.stream().map(Booking::getId).collect(Collectors.toList()), contains(second.getId()));
+    }
+
+    @Test
+    void testExportAllByOwnerId_WrongUser() {
+        Exception exception = assertThrows(ObjectNotFoundException.class, () ->
+                bookingService.exportAllByOwnerId(mockOwner.getId(), BookingState.ALL, booking -> { }));
+
+        assertEquals("User with id 1 does not exist", exception.getMessage());
+    }
+
     @Test
     void testFindAllByBookerId_WrongUser() {
         Exception exception = assertThrows(ObjectNotFoundException.class, () ->
@@ -74,4 +295,9 @@ class BookingServiceImplIntTest {
 
         assertEquals("User with id 2 does not exist", exception.getMessage());
     }
+
+    private long book(Item item, LocalDateTime start, LocalDateTime end) throws Exception {
+        return bookingService.createBooking(mockBooker.getId(), Booking.builder()
+                .start(start).end(end).item(item).build()).getId();
+    }
 }
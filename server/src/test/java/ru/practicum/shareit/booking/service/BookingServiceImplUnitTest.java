@@ -9,11 +9,17 @@ import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exc.InvalidParamException;
@@ -22,10 +28,16 @@ import ru.practicum.shareit.exc.UserHasNoRightsException;
 import ru.practicum.shareit.exc.ValidationException;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.trait.PageCursor;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +57,12 @@ class BookingServiceImplUnitTest {
 
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManager entityManager;
+
+    private final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
 
     private BookingService bookingService;
 
@@ -53,7 +71,9 @@ class BookingServiceImplUnitTest {
     @BeforeEach
     void setUp() {
         mockitoSession = Mockito.mockitoSession().initMocks(this).startMocking();
-        bookingService = new BookingServiceImpl(userService, itemService, bookingRepository);
+        bookingService = new BookingServiceImpl(userService, itemService, bookingRepository,
+                new BookingLookups(userService, bookingRepository),
+                new TransactionTemplate(transactionManager), entityManager, clock);
     }
 
     @AfterEach
@@ -104,6 +124,10 @@ class BookingServiceImplUnitTest {
             .id(5L).start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2))
             .item(mockItem1).booker(mockUserSecond).status(BookingStatus.WAITING).build();
 
+    private final BookingView mockBookingView1 = toView(mockBooking1);
+    private final BookingView mockBookingView2 = toView(mockBooking2);
+    private final BookingView mockBookingView3 = toView(mockBooking3);
+
     @Test
     void testCreateBooking() throws ValidationException {
         Mockito.when(itemService.findItemById(anyLong(), anyLong())).thenReturn(mockItem1);
@@ -128,6 +152,19 @@ class BookingServiceImplUnitTest {
         assertEquals("The start or end date of the booking is incorrect", exception.getMessage());
     }
 
+    @Test
+    void testCreateBooking_StartIsCheckedAgainstClock() throws ValidationException {
+        BookingService bookingServiceInThePast = new BookingServiceImpl(userService, itemService, bookingRepository,
+                new BookingLookups(userService, bookingRepository),
+                new TransactionTemplate(transactionManager), entityManager, Clock.offset(clock, Duration.ofDays(-3)));
+        Mockito.when(itemService.findItemById(anyLong(), anyLong())).thenReturn(mockItem1);
+        Mockito.when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(mockBookingStartFromLast);
+
+        Booking booking = bookingServiceInThePast.createBooking(2L, mockBookingStartFromLast);
+
+        assertThat(booking.getStart(), equalTo(mockBookingStartFromLast.getStart()));
+    }
+
     @Test
     void testCreateBooking_FailedValidationBookingEndFromLast() throws ObjectNotFoundException {
         Mockito.when(itemService.findItemById(anyLong(), anyLong())).thenReturn(mockItem1);
@@ -212,6 +249,36 @@ class BookingServiceImplUnitTest {
         assertThat(booking.getStatus(), equalTo(BookingStatus.REJECTED));
     }
 
+    @Test
+    void testSetApprovedBatch_RolledBackByConstraint() throws ObjectNotFoundException {
+        Item otherItem = Item.builder().id(2L).name("OtherItem").available(true).owner(mockUserFirst).build();
+        Booking conflicting = Booking.builder().id(1L).start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2)).item(mockItem1).booker(mockUserSecond)
+                .status(BookingStatus.WAITING).build();
+        Booking rolledBack = Booking.builder().id(2L).start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2)).item(otherItem).booker(mockUserSecond)
+                .status(BookingStatus.WAITING).build();
+        Booking approvedElsewhere = Booking.builder().id(3L).start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2)).item(mockItem1).booker(mockUserSecond)
+                .status(BookingStatus.APPROVED).build();
+        Mockito.when(bookingRepository.findAllByIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(conflicting, rolledBack));
+        Mockito.when(bookingRepository.findAllOverlapping(Mockito.anyCollection(), Mockito.eq(BookingStatus.APPROVED),
+                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(approvedElsewhere));
+        Mockito.when(bookingRepository.updateStatus(Mockito.anyCollection(), Mockito.eq(BookingStatus.WAITING),
+                Mockito.eq(BookingStatus.APPROVED))).thenThrow(new DataIntegrityViolationException("overlap"));
+
+        List<BookingApproval> results = bookingService.setApproved(1L, List.of(1L, 2L), true);
+
+        Mockito.verify(transactionManager).rollback(Mockito.any());
+        assertThat(results, equalTo(List.of(
+                new BookingApproval(1L, BookingStatus.WAITING, "Item with id 1 is already booked for this period"),
+                new BookingApproval(2L, BookingStatus.WAITING,
+                        "Reservation with id 2 was not updated because of a conflict in its batch, try again"))));
+    }
+
     @Test
     void testFindBookingById() throws UserHasNoRightsException, ObjectNotFoundException {
         Mockito.when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(mockBooking1));
@@ -227,6 +294,25 @@ class BookingServiceImplUnitTest {
         assertThat(booking.getItem(), equalTo(mockBooking1.getItem()));
     }
 
+    @Test
+    void testFindBookingViewById() throws UserHasNoRightsException, ObjectNotFoundException {
+        Mockito.when(bookingRepository.findViewById(1L)).thenReturn(Optional.of(mockBookingView1));
+
+        BookingView booking = bookingService.findBookingViewById(2L, 1L);
+
+        assertThat(booking, sameInstance(mockBookingView1));
+    }
+
+    @Test
+    void testFindBookingViewById_WrongUser() {
+        Mockito.when(bookingRepository.findViewById(1L)).thenReturn(Optional.of(mockBookingView1));
+
+        Exception exception = assertThrows(UserHasNoRightsException.class, () ->
+                bookingService.findBookingViewById(3L, 1L));
+
+        assertEquals("User with id 3 has no right", exception.getMessage());
+    }
+
     @Test
     void testFindBooking_WrongId() {
         Mockito.when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -247,192 +333,200 @@ class BookingServiceImplUnitTest {
         assertEquals("User with id 3 has no right", exception.getMessage());
     }
 
+    @Test
+    void testFindAllByBookerId_After() throws ValidationException {
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView1));
+
+        Collection<BookingView> bookings = bookingService.findAllByBookerId(1L, BookingState.CURRENT,
+                PageCursor.encode(LocalDateTime.now(), 5L), 20);
+
+        assertThat(bookings, equalTo(List.of(mockBookingView1)));
+    }
+
+    @Test
+    void testFindAllByOwnerId_AfterIsInvalid() {
+        Exception exception = assertThrows(InvalidParamException.class, () ->
+                bookingService.findAllByOwnerId(1L, BookingState.ALL, "invalid", 20));
+
+        assertEquals("Invalid cursor: invalid", exception.getMessage());
+    }
+
     @Test
     void testFindAllByBookerId_StateAll() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByBookerId(anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking2, mockBooking3));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView1, mockBookingView2, mockBookingView3));
 
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1L, BookingState.ALL, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByBookerId(1L, BookingState.ALL, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerId(anyLong(), Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(3));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking2, mockBooking3)));
+        assertThat(bookings, equalTo(List.of(mockBookingView1, mockBookingView2, mockBookingView3)));
     }
 
     @Test
     void testFindAllByBookerId_StateCurrent() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findForBookerCurrent(anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking2, mockBooking3));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView2, mockBookingView3));
 
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1L,
+        Collection<BookingView> bookings = bookingService.findAllByBookerId(1L,
                 BookingState.CURRENT, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findForBookerCurrent(anyLong(), Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking2, mockBooking3)));
+        assertThat(bookings, equalTo(List.of(mockBookingView2, mockBookingView3)));
     }
 
     @Test
     void testFindAllByBookerId_StatePast() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByBookerIdAndEndIsBefore(anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking2));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView1, mockBookingView2));
 
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1L, BookingState.PAST, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByBookerId(1L, BookingState.PAST, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndEndIsBefore(anyLong(), Mockito.any(LocalDateTime.class),
-                        Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking2)));
+        assertThat(bookings, equalTo(List.of(mockBookingView1, mockBookingView2)));
     }
 
     @Test
     void testFindAllByBookerId_StateFuture() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByBookerAndFutureState(anyLong(),
-                        Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking3));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView1, mockBookingView3));
 
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1L, BookingState.FUTURE, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByBookerId(1L, BookingState.FUTURE, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerAndFutureState(anyLong(),
-                        Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking3)));
+        assertThat(bookings, equalTo(List.of(mockBookingView1, mockBookingView3)));
     }
 
     @Test
     void testFindAllByBookerId_StateWaiting() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByBookerIdAndStatus(anyLong(),
-                        Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking3));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView3));
 
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1L,
+        Collection<BookingView> bookings = bookingService.findAllByBookerId(1L,
                 BookingState.WAITING, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndStatus(anyLong(), Mockito.any(BookingStatus.class),
-                        Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, equalTo(List.of(mockBooking3)));
+        assertThat(bookings, equalTo(List.of(mockBookingView3)));
     }
 
     @Test
     void testFindAllByBookerId_StateRejected() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByBookerIdAndStatus(anyLong(),
-                        Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking2));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView2));
 
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1L,
+        Collection<BookingView> bookings = bookingService.findAllByBookerId(1L,
                 BookingState.REJECTED, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndStatus(anyLong(), Mockito.any(BookingStatus.class),
-                        Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, equalTo(List.of(mockBooking2)));
+        assertThat(bookings, equalTo(List.of(mockBookingView2)));
     }
 
     @Test
     void testFindAllByOwnerId_StateAll() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByItemOwnerId(anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking2, mockBooking3));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView1, mockBookingView2, mockBookingView3));
 
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1L, BookingState.ALL, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByOwnerId(1L, BookingState.ALL, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerId(anyLong(), Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(3));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking2, mockBooking3)));
+        assertThat(bookings, equalTo(List.of(mockBookingView1, mockBookingView2, mockBookingView3)));
     }
 
     @Test
     void testFindAllByOwnerId_StateCurrent() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking2, mockBooking3));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView2, mockBookingView3));
 
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1L, BookingState.CURRENT, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByOwnerId(1L, BookingState.CURRENT, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking2, mockBooking3)));
+        assertThat(bookings, equalTo(List.of(mockBookingView2, mockBookingView3)));
     }
 
     @Test
     void testGetAllByOwnerId_StatePast() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndEndIsBefore(anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking2));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView1, mockBookingView2));
 
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1L, BookingState.PAST, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByOwnerId(1L, BookingState.PAST, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndEndIsBefore(anyLong(), Mockito.any(LocalDateTime.class),
-                        Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking2)));
+        assertThat(bookings, equalTo(List.of(mockBookingView1, mockBookingView2)));
     }
 
     @Test
     void testGetAllByOwnerId_StateFuture() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStartIsAfter(anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking3));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView1, mockBookingView3));
 
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1L, BookingState.FUTURE, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByOwnerId(1L, BookingState.FUTURE, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndStartIsAfter(anyLong(), Mockito.any(LocalDateTime.class),
-                        Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking3)));
+        assertThat(bookings, equalTo(List.of(mockBookingView1, mockBookingView3)));
     }
 
     @Test
     void testGetAllByOwnerId_StateWaiting() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatus(anyLong(),
-                        Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking3));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView3));
 
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1L, BookingState.WAITING, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByOwnerId(1L, BookingState.WAITING, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndStatus(anyLong(), Mockito.any(BookingStatus.class),
-                        Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, equalTo(List.of(mockBooking3)));
+        assertThat(bookings, equalTo(List.of(mockBookingView3)));
     }
 
     @Test
     void testGetAllByOwnerId_StateRejected() throws ObjectNotFoundException, InvalidParamException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatus(anyLong(),
-                        Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking2));
+        Mockito.when(bookingRepository.findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(mockBookingView2));
 
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1L, BookingState.REJECTED, 0, 20);
+        Collection<BookingView> bookings = bookingService.findAllByOwnerId(1L, BookingState.REJECTED, 0, 20);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndStatus(anyLong(), Mockito.any(BookingStatus.class),
-                        Mockito.any(Pageable.class));
+                .findAllViews(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
 
         assertThat(bookings, hasSize(1));
-        assertThat(bookings, equalTo(List.of(mockBooking2)));
+        assertThat(bookings, equalTo(List.of(mockBookingView2)));
+    }
+
+    private static BookingView toView(Booking booking) {
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem().getId(), booking.getItem().getName(), booking.getItem().getDescription(),
+                booking.getItem().getAvailable(), booking.getItem().getOwner().getId(), booking.getBooker().getId(),
+                booking.getBooker().getName(), booking.getBooker().getEmail());
     }
 }
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exc.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * The replica is the same in-memory database reached through a second pool, which is enough to see which pool
+ * each call borrows from.
+ */
+@SpringBootTest(properties = {
+        "shareit-server.datasource.replica.jdbc-url=jdbc:h2:mem:shareit",
+        "shareit-server.datasource.replica.username=test",
+        "shareit-server.datasource.replica.password=test",
+        "shareit-server.datasource.replica.maximum-pool-size=2"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReadReplicaDataSourceConfigIntTest {
+    private static final String PRIMARY = "shareit-server";
+    private static final String REPLICA = "shareit-server-replica";
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final User mockUser = User.builder().id(1L).name("User").email("User@host.com").build();
+
+    @Test
+    void testReadOnlyTransactionsUseReplica() throws ValidationException {
+        userService.createUser(mockUser);
+        itemService.createItem(mockUser.getId(), Item.builder().name("Item").description("ItemDescription")
+                .available(true).build());
+        long primary = acquired(PRIMARY);
+        long replica = acquired(REPLICA);
+
+        assertThat(itemService.findAllByUserId(mockUser.getId(), 0, 20), hasSize(1));
+
+        assertThat(acquired(REPLICA), greaterThan(replica));
+        assertThat(acquired(PRIMARY), equalTo(primary));
+    }
+
+    @Test
+    void testWritesAndTheirChecksUsePrimary() throws Exception {
+        User booker = User.builder().id(2L).name("Booker").email("Booker@host.com").build();
+        userService.createUser(mockUser);
+        userService.createUser(booker);
+        Item item = itemService.createItem(mockUser.getId(), Item.builder().name("Item")
+                .description("ItemDescription").available(true).build());
+        Booking booking = bookingService.createBooking(booker.getId(), Booking.builder().item(item)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build());
+        long primary = acquired(PRIMARY);
+        long replica = acquired(REPLICA);
+
+        bookingRepository.existsOverlapping(item.getId(), BookingStatus.APPROVED, booking.getStart(),
+                booking.getEnd());
+        bookingRepository.findById(booking.getId());
+
+        assertThat(acquired(PRIMARY), equalTo(primary + 2));
+        assertThat(acquired(REPLICA), equalTo(replica));
+    }
+
+    @Test
+    void testCreateBookingChecksUsePrimary() throws Exception {
+        User booker = User.builder().id(2L).name("Booker").email("Booker@host.com").build();
+        userService.createUser(mockUser);
+        userService.createUser(booker);
+        long replica = acquired(REPLICA);
+
+        Item item = itemService.createItem(mockUser.getId(), Item.builder().name("Item")
+                .description("ItemDescription").available(true).build());
+        bookingService.createBooking(booker.getId(), Booking.builder().item(item)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build());
+
+        assertThat(acquired(REPLICA), equalTo(replica));
+    }
+
+    private long acquired(String pool) {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool).timer().count();
+    }
+}
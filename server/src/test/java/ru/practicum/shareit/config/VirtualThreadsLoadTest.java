@@ -0,0 +1,84 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shareit-server.virtual-threads.enabled=true"
+)
+@Import(VirtualThreadsLoadTest.BarrierController.class)
+@EnabledIf("virtualThreadsAvailable")
+class VirtualThreadsLoadTest {
+    /**
+     * Twice the 200 threads of the default Tomcat pool.
+     */
+    private static final int REQUESTS = 400;
+    private static final CountDownLatch BARRIER = new CountDownLatch(REQUESTS);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @LocalServerPort
+    private int port;
+
+    static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    @Test
+    void testRequestsBeyondTomcatThreadPoolAreInFlightTogether() throws Exception {
+        for (HttpResponse<String> response : sendConcurrently("/test/barrier")) {
+            assertEquals(200, response.statusCode());
+            assertEquals("true", response.body());
+        }
+    }
+
+    @Test
+    void testRequestsBeyondHikariPoolWaitForConnection() throws Exception {
+        for (HttpResponse<String> response : sendConcurrently("/users")) {
+            assertEquals(200, response.statusCode());
+        }
+    }
+
+    private List<HttpResponse<String>> sendConcurrently(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, REQUESTS)
+                .mapToObj(i -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        return responses.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    /**
+     * Answers {@code true} only if all {@link #REQUESTS} requests reached the handler at the same time.
+     */
+    @RestController
+    static class BarrierController {
+        @GetMapping("/test/barrier")
+        public boolean await() throws InterruptedException {
+            BARRIER.countDown();
+            return BARRIER.await(20, TimeUnit.SECONDS);
+        }
+    }
+}
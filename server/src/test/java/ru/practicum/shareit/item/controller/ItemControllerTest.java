@@ -22,10 +22,14 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -65,6 +69,22 @@ class ItemControllerTest {
             .id(1L).text("CommentDto").authorName("user").created(LocalDateTime.now()).build();
 
 
+    @Test
+    void testCreateItems() throws Exception {
+        Item secondItem = Item.builder().id(2L).name("SecondItem").build();
+        when(itemService.createItems(any(Long.class), any())).thenReturn(List.of(mockItem, secondItem));
+
+        mockMvc.perform(post("/items/batch")
+                        .content(objectMapper.writeValueAsString(List.of(mockItemDto, mockItemDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[1, 2]"));
+    }
+
     @Test
     void testCreateItem() throws Exception {
         when(itemService.createItem(any(Long.class), any())).thenReturn(mockItem);
@@ -138,6 +158,38 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.error", is("TestGetItemByWrongId")));
     }
 
+    @Test
+    void testExportAllByUserId() throws Exception {
+        Item secondItem = Item.builder().id(2L).name("SecondItem").build();
+        doAnswer(invocation -> {
+            Consumer<Item> consumer = invocation.getArgument(1);
+            consumer.accept(mockItem);
+            consumer.accept(secondItem);
+            return null;
+        }).when(itemService).exportAllByUserId(anyLong(), any());
+        doReturn(mockItemDto).when(itemMapper).toExportedItemDto(mockItem);
+        doReturn(ItemDto.builder().id(2L).name("SecondItem").build()).when(itemMapper).toExportedItemDto(secondItem);
+
+        mockMvc.perform(get("/items/export")
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(mockItemDto) + "\n"
+                        + objectMapper.writeValueAsString(ItemDto.builder().id(2L).name("SecondItem").build()) + "\n"));
+    }
+
+    @Test
+    void testExportAllByUserId_WrongUser() throws Exception {
+        doThrow(new ObjectNotFoundException("TestExportByWrongUser", "TestExportByWrongUser"))
+                .when(itemService).exportAllByUserId(anyLong(), any());
+
+        mockMvc.perform(get("/items/export")
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error", is("TestExportByWrongUser")));
+    }
+
     @Test
     void testFindAllByUserId() throws Exception {
         when(itemService.findAllByUserId(any(Long.class), any(Integer.class), any(Integer.class)))
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CommentRepositoryTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final User mockUserFirst = User.builder().id(1L).name("FirstUser").email("FirstUser@host.com").build();
+    private final User mockUserSecond = User.builder().id(2L).name("SecondUser").email("SecondUser@host.com").build();
+
+    private final Item mockItem1 = Item.builder().id(1L).name("Item")
+            .description("ItemDescription").available(true).owner(mockUserFirst).build();
+    private final Item mockItem2 = Item.builder().id(2L).name("Item2")
+            .description("ItemDescription2").available(true).owner(mockUserSecond).build();
+    private final Item mockItem3 = Item.builder().id(3L).name("Item3")
+            .description("ItemDescription3").available(true).owner(mockUserSecond).build();
+
+    private final Comment mockComment1 = Comment.builder().text("Comment1").item(mockItem1).author(mockUserSecond)
+            .created(LocalDateTime.now()).build();
+    private final Comment mockComment2 = Comment.builder().text("Comment2").item(mockItem2).author(mockUserFirst)
+            .created(LocalDateTime.now()).build();
+    private final Comment mockComment3 = Comment.builder().text("Comment3").item(mockItem3).author(mockUserFirst)
+            .created(LocalDateTime.now()).build();
+
+    @Test
+    void testFindAllByItemIdInOrderById() {
+        userRepository.save(mockUserFirst);
+        userRepository.save(mockUserSecond);
+        itemRepository.save(mockItem1);
+        itemRepository.save(mockItem2);
+        itemRepository.save(mockItem3);
+        commentRepository.save(mockComment1);
+        commentRepository.save(mockComment2);
+        commentRepository.save(mockComment3);
+
+        Collection<Comment> comments = commentRepository.findAllByItemIdInOrderById(List.of(1L, 2L));
+
+        assertThat(comments).hasSize(2).containsExactly(mockComment1, mockComment2);
+    }
+}
@@ -51,6 +51,22 @@ class ItemRepositoryTest {
         assertThat(items).hasSize(1).contains(mockItem1);
     }
 
+    @Test
+    void testFindAllByOwnerIdAndIdGreaterThan() {
+        userRepository.save(mockUserFirst);
+        userRepository.save(mockUserSecond);
+        itemRepository.save(mockItem1);
+        itemRepository.save(mockItem2);
+        Item mockItem3 = itemRepository.save(Item.builder().name("Item3").description("ItemDescription3")
+                .available(true).owner(mockUserFirst).build());
+
+        Pageable page = PageRequest.of(PAGE, SIZE, Sort.by(Sort.Direction.ASC, "id"));
+
+        Collection<Item> items = itemRepository.findAllByOwnerIdAndIdGreaterThan(1L, mockItem1.getId(), page);
+
+        assertThat(items).hasSize(1).contains(mockItem3);
+    }
+
     @Test
     void testSearch() {
         userRepository.save(mockUserFirst);
@@ -66,4 +82,18 @@ class ItemRepositoryTest {
         assertThat(items).isNotEmpty();
         assertThat(items).hasSize(1).contains(mockItem2);
     }
+
+    @Test
+    void testSearch_SkipsUnavailableItemsMatchedByName() {
+        userRepository.save(mockUserFirst);
+        userRepository.save(mockUserSecond);
+        itemRepository.save(mockItem1);
+        itemRepository.save(mockItem2);
+        itemRepository.save(Item.builder().name("Item3").description("Unavailable")
+                .available(false).owner(mockUserFirst).build());
+
+        Collection<Item> items = itemRepository.search("Item", PageRequest.of(PAGE, SIZE));
+
+        assertThat(items).hasSize(2).containsExactly(mockItem1, mockItem2);
+    }
 }
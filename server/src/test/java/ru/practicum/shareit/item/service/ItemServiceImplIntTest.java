@@ -1,19 +1,36 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.ValidationException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.StatementCounter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCountAtMost;
 
 @SpringBootTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -21,6 +38,10 @@ import static org.hamcrest.Matchers.*;
 class ItemServiceImplIntTest {
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingService bookingService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final StatementCounter statementCounter;
 
     private final User mockUser1 = User.builder().id(1L).name("FirstUser").email("FirstUser@host.com").build();
 
@@ -43,6 +64,106 @@ class ItemServiceImplIntTest {
         assertThat(items.stream().findFirst().get().getDescription(), equalTo(mockItem1.getDescription()));
     }
 
+    @Test
+    void testCreateItems_InsertedInBatches() throws ValidationException {
+        userService.createUser(mockUser1);
+        List<Item> items = IntStream.range(0, 20)
+                .mapToObj(i -> Item.builder().name("Item" + i).description("Description" + i).available(true).build())
+                .collect(Collectors.toList());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Item> created = itemService.createItems(mockUser1.getId(), items);
+
+        assertThat(created.stream().map(Item::getName).collect(Collectors.toList()),
+                equalTo(items.stream().map(Item::getName).collect(Collectors.toList())));
+        assertThat(created.stream().map(Item::getId).collect(Collectors.toList()),
+                equalTo(LongStream.rangeClosed(1, 20).boxed().collect(Collectors.toList())));
+        assertThat(statistics.getEntityInsertCount(), equalTo(20L));
+        // the owner lookup, the existing names check, one sequence call and a single insert executed as a batch
+        assertThat(statistics.getPrepareStatementCount(), equalTo(4L));
+        assertThat(itemService.searchItemByText("Description19", 0, 20), hasSize(1));
+    }
+
+    @Test
+    void testExportAllByUserId_StreamsEveryItem() throws ValidationException {
+        userService.createUser(mockUser1);
+        for (int batch = 0; batch < 3; batch++) {
+            int first = batch * 300;
+            itemService.createItems(mockUser1.getId(), IntStream.range(first, first + 300)
+                    .mapToObj(i -> Item.builder().name("Item" + i).description("Description" + i).available(true)
+                            .build())
+                    .collect(Collectors.toList()));
+        }
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Long> exported = new ArrayList<>();
+
+        itemService.exportAllByUserId(mockUser1.getId(), item -> {
+            assertThat(item.getOwner().getId(), equalTo(mockUser1.getId()));
+            assertThat(entityManager.contains(item), is(true));
+            exported.add(item.getId());
+        });
+
+        assertThat(exported, equalTo(LongStream.rangeClosed(1, 900).boxed().collect(Collectors.toList())));
+        // the owner lookup and one cursor over the items, whatever the fetch size
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        // streamed rows stay out of the second-level cache, where they would push out the hot entries
+        assertThat(statistics.getDomainDataRegionStatistics(Item.class.getName()).getPutCount(), equalTo(0L));
+        assertThat(statistics.getDomainDataRegionStatistics(User.class.getName()).getPutCount(), equalTo(0L));
+    }
+
+    @Test
+    void testFindAllByUserId_QueryCountDoesNotGrowWithItems() throws Exception {
+        User booker = User.builder().id(2L).name("Booker").email("Booker@host.com").build();
+        userService.createUser(mockUser1);
+        userService.createUser(booker);
+        for (int i = 0; i < 5; i++) {
+            Item item = itemService.createItem(mockUser1.getId(), Item.builder().name("Item" + i)
+                    .description("Description" + i).available(true).build());
+            Booking booking = bookingService.createBooking(booker.getId(), Booking.builder().item(item)
+                    .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build());
+            bookingService.setApproved(mockUser1.getId(), booking.getId(), true);
+        }
+
+        Collection<Item> items = assertQueryCountAtMost(statementCounter, 5, () ->
+                itemService.findAllByUserId(mockUser1.getId(), 0, 20));
+
+        assertThat(items, hasSize(5));
+        assertThat(items, everyItem(hasProperty("nextBooking", notNullValue())));
+    }
+
+    @Test
+    void testCreateItems_InvalidItem() throws ValidationException {
+        userService.createUser(mockUser1);
+        List<Item> items = List.of(
+                Item.builder().name("Item").description("Description").available(true).build(),
+                Item.builder().name("Item").description("Description").available(true).build());
+
+        Exception exception = assertThrows(ValidationException.class, () ->
+                itemService.createItems(mockUser1.getId(), items));
+
+        assertThat(exception.getMessage(), equalTo("Item 1: Name Item is used more than once"));
+        assertThat(itemService.searchItemByText("Description", 0, 20), empty());
+    }
+
+    @Test
+    void testCreateItems_NameAlreadyExists() throws ValidationException {
+        userService.createUser(mockUser1);
+        itemService.createItem(mockUser1.getId(),
+                Item.builder().name("Existing").description("Description").available(true).build());
+        List<Item> items = List.of(
+                Item.builder().name("New").description("Description").available(true).build(),
+                Item.builder().name("Existing").description("Description").available(true).build());
+
+        Exception exception = assertThrows(ValidationException.class, () ->
+                itemService.createItems(mockUser1.getId(), items));
+
+        assertThat(exception.getMessage(), equalTo("Item 1: Name Existing already exists"));
+        assertThat(itemService.searchItemByText("Description", 0, 20), hasSize(1));
+    }
+
     @Test
     void testSearchItemByEmptyText() throws ValidationException {
         userService.createUser(mockUser1);
@@ -53,4 +174,43 @@ class ItemServiceImplIntTest {
         assertThat(items, hasSize(0));
         assertThat(items, empty());
     }
+
+    @Test
+    void testFindItemById_ServedFromSecondLevelCache() throws ValidationException {
+        userService.createUser(mockUser1);
+        itemService.createItem(mockUser1.getId(), mockItem1);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        itemService.findItemById(mockUser1.getId(), mockItem1.getId());
+        itemService.findItemById(mockUser1.getId(), mockItem1.getId());
+
+        CacheRegionStatistics itemRegion = statistics.getDomainDataRegionStatistics(Item.class.getName());
+        assertThat(itemRegion.getHitCount(), equalTo(2L));
+        assertThat(itemRegion.getMissCount(), equalTo(0L));
+    }
+
+    @Test
+    void testUpdateItem_CachedItemIsUpdated() throws ValidationException {
+        userService.createUser(mockUser1);
+        itemService.createItem(mockUser1.getId(), mockItem1);
+        itemService.findItemById(mockUser1.getId(), mockItem1.getId());
+
+        itemService.updateItem(mockUser1.getId(), mockItem1.getId(), Item.builder().name("UpdatedItem").build());
+
+        assertThat(itemService.findItemById(mockUser1.getId(), mockItem1.getId()).getName(),
+                equalTo("UpdatedItem"));
+    }
+
+    @Test
+    void testDeleteItem_CachedItemIsEvicted() throws ValidationException {
+        userService.createUser(mockUser1);
+        itemService.createItem(mockUser1.getId(), mockItem1);
+        itemService.findItemById(mockUser1.getId(), mockItem1.getId());
+
+        itemService.deleteItem(mockUser1.getId(), mockItem1.getId());
+
+        assertThrows(ObjectNotFoundException.class,
+                () -> itemService.findItemById(mockUser1.getId(), mockItem1.getId()));
+    }
 }
@@ -10,6 +10,7 @@ import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -26,6 +27,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -51,6 +53,8 @@ class ItemServiceImplUnitTest {
     private ItemRepository itemRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private EntityManager entityManager;
 
     private ItemService itemService;
 
@@ -60,7 +64,7 @@ class ItemServiceImplUnitTest {
     void setUp() {
         session = Mockito.mockitoSession().initMocks(this).startMocking();
         itemService = new ItemServiceImpl(bookingRepository, userService, itemRequestService, itemRepository,
-                commentRepository);
+                commentRepository, entityManager);
     }
 
     @AfterEach
@@ -93,10 +97,6 @@ class ItemServiceImplUnitTest {
             .description("ItemDescription2").available(true).owner(mockUserSecond).build();
 
 
-    private final Booking mockBooking = Booking.builder()
-            .id(1L).start(LocalDateTime.now().plusDays(5)).end(LocalDateTime.now().plusDays(2))
-            .item(mockItem1).booker(mockUserSecond).status(BookingStatus.APPROVED).build();
-
     private final Comment mockComment = Comment.builder()
             .id(1L).text("Comment").item(mockItem1).author(mockUserSecond).created(LocalDateTime.now()).build();
 
@@ -188,6 +188,31 @@ class ItemServiceImplUnitTest {
         assertThat(items, equalTo(List.of(mockItem1, mockItem2)));
     }
 
+    @Test
+    void testFindAllByUserId_BookingsLoadedForPage() throws ObjectNotFoundException {
+        Item item = Item.builder().id(3L).name("Item3").description("ItemDescription3").available(true)
+                .owner(mockUserFirst).build();
+        Booking last = Booking.builder().id(1L).item(item).booker(mockUserSecond).build();
+        Booking next = Booking.builder().id(2L).item(item).booker(mockUserSecond).build();
+
+        Mockito.when(itemRepository.findAllByOwnerId(anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(item));
+        Mockito.when(bookingRepository.findLastBookingsByItemIds(List.of(3L), BookingStatus.APPROVED))
+                .thenReturn(List.of(last));
+        Mockito.when(bookingRepository.findNextBookingsByItemIds(List.of(3L),
+                        BookingStatus.APPROVED))
+                .thenReturn(List.of(next));
+
+        Collection<Item> items = itemService.findAllByUserId(1L, 0, 20);
+
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findFirstByItemIdAndStatusOrderByEnd(anyLong(), Mockito.any(BookingStatus.class));
+
+        assertThat(items, hasSize(1));
+        assertThat(items.iterator().next().getLastBooking(), equalTo(last));
+        assertThat(items.iterator().next().getNextBooking(), equalTo(next));
+    }
+
     @Test
     void testUpdateItem() throws ObjectNotFoundException {
         Mockito.when(itemRepository.save(Mockito.any(Item.class))).thenReturn(mockUpdatedItem1);
@@ -238,15 +263,53 @@ class ItemServiceImplUnitTest {
         assertThat(items, equalTo(List.of(mockItem2)));
     }
 
+    @Test
+    void testSearchItemByText_CommentsLoadedForPage() {
+        Item item = Item.builder().id(3L).name("Item3").description("ItemDescription3").available(true)
+                .owner(mockUserFirst).build();
+        Comment comment = Comment.builder().id(1L).text("Comment").item(item).author(mockUserSecond).build();
+
+        Mockito.when(itemRepository.search(Mockito.any(String.class), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(item, mockItem2));
+        Mockito.when(commentRepository.findAllByItemIdInOrderById(List.of(3L, 1L)))
+                .thenReturn(List.of(comment));
+
+        Collection<Item> items = itemService.searchItemByText("Desc", 0, 20);
+
+        assertThat(items, hasSize(2));
+        assertThat(item.getLoadedComments(), contains(comment));
+        assertThat(mockItem2.getLoadedComments(), empty());
+        assertThat(item.getComments(), nullValue());
+    }
+
+    @Test
+    void testSearchItemByText_FullText() {
+        ReflectionTestUtils.setField(itemService, "fullTextSearch", true);
+        Item item = Item.builder().id(3L).name("Item3").description("ItemDescription3").available(true)
+                .owner(mockUserFirst).build();
+
+        Mockito.when(itemRepository.searchIdsFullText(Mockito.any(String.class), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(3L, 1L));
+        Mockito.when(itemRepository.findAllByIdIn(List.of(3L, 1L)))
+                .thenReturn(List.of(mockItem2, item));
+
+        Collection<Item> items = itemService.searchItemByText("Desc", 0, 20);
+
+        Mockito.verify(itemRepository, Mockito.never())
+                .search(Mockito.any(String.class), Mockito.any(Pageable.class));
+
+        assertThat(items, equalTo(List.of(item, mockItem2)));
+    }
+
     @Test
     void testCreateComment() throws ValidationException {
         Mockito.when(userService.findUserById(anyLong()))
                 .thenReturn(mockUserSecond);
         Mockito.when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(mockItem1));
-        Mockito.when(bookingRepository.findFirstByBookerIdAndItemIdAndStatusAndStartBefore(anyLong(),
+        Mockito.when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(anyLong(),
                         anyLong(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class)))
-                .thenReturn(Optional.of(mockBooking));
+                .thenReturn(true);
         Mockito.when(commentRepository.save(Mockito.any(Comment.class))).thenReturn(mockComment);
 
         Comment comment = itemService.addComment(2L, mockItem1.getId(), mockComment);
@@ -265,9 +328,9 @@ class ItemServiceImplUnitTest {
                 .thenReturn(mockUserSecond);
         Mockito.when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(mockItem1));
-        Mockito.when(bookingRepository.findFirstByBookerIdAndItemIdAndStatusAndStartBefore(anyLong(),
+        Mockito.when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(anyLong(),
                         anyLong(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class)))
-                .thenReturn(Optional.empty());
+                .thenReturn(false);
 
         Exception exception1 = assertThrows(ValidationException.class, () ->
                 itemService.addComment(mockUserFirst.getId(), mockItem1.getId(), mockComment));
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.queryCountAtMost;
+
+/**
+ * Locks in the statements each read endpoint runs against a small dataset with cold caches, so that a lazy
+ * association touched outside its fetch plan shows up as a failing bound rather than as a slow endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EndpointQueryCountIntTest {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final BookingService bookingService;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+
+    private final User owner = User.builder().id(1L).name("Owner").email("Owner@host.com").build();
+    private final User booker = User.builder().id(2L).name("Booker").email("Booker@host.com").build();
+    private final User requestor = User.builder().id(3L).name("Requestor").email("Requestor@host.com").build();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userService.createUser(owner);
+        userService.createUser(booker);
+        userService.createUser(requestor);
+        ItemRequest itemRequest = itemRequestService.createItemRequest(requestor.getId(), ItemRequest.builder()
+                .description("Drill wanted").build());
+        for (int i = 0; i < 3; i++) {
+            Item item = itemService.createItem(owner.getId(), Item.builder().name("Item" + i)
+                    .description("Drill number " + i).available(true).request(i == 0 ? itemRequest : null).build());
+            for (int j = 0; j < 2; j++) {
+                Booking booking = bookingService.createBooking(booker.getId(), Booking.builder().item(item)
+                        .start(LocalDateTime.now().plusDays(1 + 2 * j)).end(LocalDateTime.now().plusDays(2 + 2 * j))
+                        .build());
+                bookingService.setApproved(owner.getId(), booking.getId(), true);
+            }
+            commentRepository.save(Comment.builder().text("Comment" + i).item(item).author(booker)
+                    .created(LocalDateTime.now()).build());
+        }
+    }
+
+    @Test
+    void testUserEndpoints() throws Exception {
+        expectQueriesAtMost(get("/users/1"), 1);
+        expectQueriesAtMost(get("/users"), 1);
+    }
+
+    @Test
+    void testItemEndpoints() throws Exception {
+        expectQueriesAtMost(get("/items/1").header(HEADER_USER_ID, owner.getId()), 4);
+        expectQueriesAtMost(get("/items/1").header(HEADER_USER_ID, booker.getId()), 2);
+        expectQueriesAtMost(get("/items").header(HEADER_USER_ID, owner.getId()), 5);
+        expectQueriesAtMost(get("/items/search").queryParam("text", "drill"), 2);
+    }
+
+    @Test
+    void testBookingEndpoints() throws Exception {
+        expectQueriesAtMost(get("/bookings/1").header(HEADER_USER_ID, booker.getId()), 2);
+        expectQueriesAtMost(get("/bookings").header(HEADER_USER_ID, booker.getId()), 2);
+        expectQueriesAtMost(get("/bookings/owner").header(HEADER_USER_ID, owner.getId()), 2);
+    }
+
+    @Test
+    void testItemRequestEndpoints() throws Exception {
+        expectQueriesAtMost(get("/requests").header(HEADER_USER_ID, requestor.getId()), 3);
+        expectQueriesAtMost(get("/requests/all").header(HEADER_USER_ID, owner.getId()), 3);
+        expectQueriesAtMost(get("/requests/1").header(HEADER_USER_ID, owner.getId()), 2);
+    }
+
+    private void expectQueriesAtMost(MockHttpServletRequestBuilder request, long max) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(max));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Upper bounds on the SQL statements a call may run, to catch queries issued per row before they reach production.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * Runs the action on the current thread and fails if it ran more than {@code max} statements.
+     */
+    public static <T> T assertQueryCountAtMost(StatementCounter statementCounter, long max, Callable<T> action)
+            throws Exception {
+        statementCounter.reset();
+        T result = action.call();
+
+        assertThat("SQL statements executed", statementCounter.get(), lessThanOrEqualTo(max));
+        return result;
+    }
+
+    /**
+     * Checks the query count the server reported for a request made through {@code MockMvc}.
+     */
+    public static ResultMatcher queryCountAtMost(long max) {
+        return result -> {
+            String queries = result.getResponse().getHeader(QueryCountFilter.HEADER_QUERY_COUNT);
+
+            assertThat(QueryCountFilter.HEADER_QUERY_COUNT, queries, notNullValue());
+            assertThat("SQL statements executed", Long.parseLong(queries), lessThanOrEqualTo(max));
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.queryCountAtMost;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class QueryMetricsIntTest {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+
+    private final User mockUser = User.builder().id(1L).name("User").email("User@host.com").build();
+
+    @Test
+    void testQueriesPerRequestAreRecorded() throws Exception {
+        userService.createUser(mockUser);
+
+        mockMvc.perform(get("/bookings/owner").header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/bookings/owner").header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk());
+
+        DistributionSummary queries = meterRegistry.get(QueryCountFilter.METRIC_NAME)
+                .tag("method", "GET")
+                .tag("uri", "/bookings/owner")
+                .summary();
+        assertThat(queries.count(), equalTo(2L));
+        assertThat(queries.max(), greaterThanOrEqualTo(1.0));
+    }
+
+    @Test
+    void testQueryCountIsReturnedInHeader() throws Exception {
+        userService.createUser(mockUser);
+
+        mockMvc.perform(get("/items").header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryCountFilter.HEADER_QUERY_COUNT))
+                .andExpect(queryCountAtMost(2));
+        mockMvc.perform(get("/items/1").header(HEADER_USER_ID, 1))
+                .andExpect(status().isNotFound())
+                .andExpect(queryCountAtMost(2));
+    }
+
+    @Test
+    void testRepositoryInvocationsAreTimed() throws Exception {
+        userService.createUser(mockUser);
+
+        mockMvc.perform(get("/bookings/owner").header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "BookingRepository")
+                .tag("method", "findAllViews")
+                .timer()
+                .count(), equalTo(1L));
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "shareit-server").timer().count(),
+                greaterThan(0L));
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "shareit-server").gauge().value(),
+                equalTo(20.0));
+        assertThat(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count(),
+                greaterThan(0.0));
+    }
+}
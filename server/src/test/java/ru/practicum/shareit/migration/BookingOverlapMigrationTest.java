@@ -0,0 +1,66 @@
+package ru.practicum.shareit.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class BookingOverlapMigrationTest {
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void testMigrate_OverlappingApprovedBookingsGoBackToWaiting() {
+        migrate("3");
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'Owner', 'owner@host.com')");
+        jdbcTemplate.update("insert into items (id, name, description, available, owner_id)"
+                + " values (1, 'Item1', 'Description', true, 1), (2, 'Item2', 'Description', true, 1)");
+        jdbcTemplate.update("insert into bookings (id, start_date_time, end_date_time, item_id, booker_id, status)"
+                + " values (1, '2024-01-01', '2024-01-03', 1, 1, 'APPROVED'),"
+                // overlaps 1
+                + " (2, '2024-01-02', '2024-01-04', 1, 1, 'APPROVED'),"
+                // overlaps only 2, which no longer holds the item
+                + " (3, '2024-01-03 12:00', '2024-01-05', 1, 1, 'APPROVED'),"
+                + " (4, '2024-01-02', '2024-01-03', 1, 1, 'REJECTED'),"
+                + " (5, '2024-01-01', '2024-01-03', 2, 1, 'APPROVED')");
+
+        migrate(null);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("select id, status from bookings order by id");
+        assertThat(rows).extracting(row -> entry(row.get("id"), row.get("status"))).containsExactly(
+                entry(1L, "APPROVED"),
+                entry(2L, "WAITING"),
+                entry(3L, "APPROVED"),
+                entry(4L, "REJECTED"),
+                entry(5L, "APPROVED"));
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .target(target == null ? "latest" : target)
+                .load()
+                .migrate();
+    }
+}
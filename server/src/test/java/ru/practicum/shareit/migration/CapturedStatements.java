@@ -0,0 +1,150 @@
+package ru.practicum.shareit.migration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.jdbc.core.ConnectionCallback;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the queries the application runs, with the values bound to them, so that a test can ask the database
+ * how it plans the exact SQL Hibernate generated rather than a hand-written copy of it.
+ */
+@TestConfiguration
+class CapturedStatements implements BeanPostProcessor {
+    private final List<Query> queries = new ArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource ? capture((DataSource) bean) : bean;
+    }
+
+    /**
+     * Returns the queries run since the last call and forgets them.
+     */
+    synchronized List<Query> drain() {
+        List<Query> drained = new ArrayList<>(queries);
+        queries.clear();
+        return drained;
+    }
+
+    private synchronized void add(Query query) {
+        queries.add(query);
+    }
+
+    private DataSource capture(DataSource dataSource) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection ? capture((Connection) result) : result;
+        });
+    }
+
+    private Connection capture(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return method.getName().equals("prepareStatement")
+                    ? capture((PreparedStatement) result, (String) args[0])
+                    : result;
+        });
+    }
+
+    private PreparedStatement capture(PreparedStatement statement, String sql) {
+        Query query = new Query(sql);
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            if (method.getName().startsWith("set") && method.getParameterCount() >= 2
+                    && method.getParameterTypes()[0] == int.class) {
+                query.parameters.add(new Parameter(method, args));
+            } else if (method.getName().equals("executeQuery")) {
+                add(query);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(CapturedStatements.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    static class Query {
+        private final String sql;
+        private final List<Parameter> parameters = new ArrayList<>();
+
+        private Query(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * Runs {@code setup} and then {@code explain} followed by this query, with the same values bound, and
+         * returns the plan one line per row.
+         */
+        ConnectionCallback<String> explain(String setup, String explain) {
+            return connection -> {
+                if (setup != null) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute(setup);
+                    }
+                }
+                try (PreparedStatement statement = connection.prepareStatement(explain + " " + sql)) {
+                    for (Parameter parameter : parameters) {
+                        parameter.bind(statement);
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                    return plan.toString();
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+
+    private static class Parameter {
+        private final Method setter;
+        private final Object[] args;
+
+        private Parameter(Method setter, Object[] args) {
+            this.setter = setter;
+            this.args = args;
+        }
+
+        private void bind(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
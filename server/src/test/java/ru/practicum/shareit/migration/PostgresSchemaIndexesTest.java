@@ -0,0 +1,56 @@
+package ru.practicum.shareit.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * The production database, migrated with its own scripts. Sequential scans are switched off while planning, so
+ * that a few thousand rows are enough to tell whether a usable index exists.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PostgresSchemaIndexesTest extends SchemaIndexesTestBase {
+
+    @Override
+    protected void seed() {
+        jdbcTemplate.execute("insert into users (id, name, email)"
+                + " select x, 'User' || x, 'user' || x || '@host.com' from generate_series(1, 100) x");
+        jdbcTemplate.execute("insert into item_requests (id, description, requester_id, created)"
+                + " select x, 'Request' || x, mod(x, 100) + 1, localtimestamp + x * interval '1 minute'"
+                + " from generate_series(1, 1000) x");
+        jdbcTemplate.execute("insert into items (id, name, description, available, owner_id, request_id)"
+                + " select x, 'Item' || x, 'Description' || x, true, mod(x, 100) + 1,"
+                + " case when x <= 1000 then x end from generate_series(1, 10000) x");
+        jdbcTemplate.execute("insert into bookings (start_date_time, end_date_time, item_id, booker_id, status)"
+                + " select localtimestamp + (x - 10000) * interval '1 hour',"
+                + " localtimestamp + (x - 9999) * interval '1 hour',"
+                + " mod(x, 100) + 1, mod(x / 100, 100) + 1, " + STATUS + " from generate_series(1, 20000) x");
+        jdbcTemplate.execute("insert into comments (text, item_id, author_id, created)"
+                + " select 'Comment' || x, mod(x, 1000) + 1, mod(x, 100) + 1, localtimestamp"
+                + " from generate_series(1, 5000) x");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Override
+    protected String explain(CapturedStatements.Query query) {
+        return jdbcTemplate.execute(query.explain("set local enable_seqscan = off", "explain"));
+    }
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+    }
+}
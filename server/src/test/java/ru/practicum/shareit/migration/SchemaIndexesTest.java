@@ -0,0 +1,61 @@
+package ru.practicum.shareit.migration;
+
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SchemaIndexesTest extends SchemaIndexesTestBase {
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+)");
+
+    @Override
+    protected void seed() {
+        jdbcTemplate.execute("insert into users (id, name, email)"
+                + " select x, 'User' || x, 'user' || x || '@host.com' from system_range(1, 100)");
+        jdbcTemplate.execute("insert into item_requests (id, description, requester_id, created)"
+                + " select x, 'Request' || x, mod(x, 100) + 1, dateadd('MINUTE', x, current_timestamp)"
+                + " from system_range(1, 1000)");
+        jdbcTemplate.execute("insert into items (id, name, description, available, owner_id, request_id)"
+                + " select x, 'Item' || x, 'Description' || x, true, mod(x, 100) + 1,"
+                + " case when x <= 1000 then x end from system_range(1, 10000)");
+        jdbcTemplate.execute("insert into bookings (start_date_time, end_date_time, item_id, booker_id, status)"
+                + " select dateadd('HOUR', x - 10000, current_timestamp),"
+                + " dateadd('HOUR', x - 9999, current_timestamp),"
+                + " mod(x, 100) + 1, mod(x / 100, 100) + 1, " + STATUS + " from system_range(1, 20000)");
+        jdbcTemplate.execute("insert into comments (text, item_id, author_id, created)"
+                + " select 'Comment' || x, mod(x, 1000) + 1, mod(x, 100) + 1, current_timestamp"
+                + " from system_range(1, 5000)");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Override
+    protected String explain(CapturedStatements.Query query) {
+        return jdbcTemplate.execute(query.explain(null, "explain"));
+    }
+
+    /**
+     * H2 creates an index of its own for every foreign key and may plan with it instead of an equivalent index from
+     * the migration, so any index on the same leading column counts. The PostgreSQL test checks the exact index.
+     */
+    @Override
+    protected void assertUsesIndex(CapturedStatements.Query query, String plan, String index) {
+        List<String> leadingColumns = new ArrayList<>();
+        Matcher matcher = PLAN_INDEX.matcher(plan);
+        while (matcher.find()) {
+            leadingColumns.addAll(leadingColumn(matcher.group(1)));
+        }
+
+        assertThat(leadingColumns).as(query + "\n" + plan).contains(leadingColumn(index).get(0));
+    }
+
+    private List<String> leadingColumn(String index) {
+        return jdbcTemplate.queryForList("select table_name || '.' || column_name"
+                + " from information_schema.index_columns where index_name = ? and ordinal_position = 1",
+                String.class, index);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repository queries each index in {@code V2__create_indexes.sql} was made for and checks that the
+ * database plans them with that index. Subclasses seed their database and know how to ask it for a plan.
+ */
+@DataJpaTest
+@Import(CapturedStatements.class)
+abstract class SchemaIndexesTestBase {
+    /**
+     * The status of seeded booking {@code x}. Bookings of one item cycle through every status.
+     */
+    protected static final String STATUS = "case mod(x / 100 + x, 4) when 0 then 'WAITING' when 1 then 'APPROVED'"
+            + " when 2 then 'REJECTED' else 'CANCELED' end";
+
+    private static final Pageable BY_START = PageRequest.of(0, 20,
+            Sort.by(Sort.Direction.DESC, "start").and(Sort.by(Sort.Direction.DESC, "id")));
+    private static final Pageable BY_CREATED = PageRequest.of(0, 20,
+            Sort.by(Sort.Direction.DESC, "created").and(Sort.by(Sort.Direction.DESC, "id")));
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturedStatements capturedStatements;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeEach
+    void setUp() {
+        seed();
+        capturedStatements.drain();
+    }
+
+    protected abstract void seed();
+
+    protected abstract String explain(CapturedStatements.Query query);
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                Arguments.of("IX_BOOKING_BOOKER_START", (RepositoryCall) test -> test.bookingRepository.findAllViews(
+                        BookingSpecifications.byRole(BookingRole.BOOKER, 1L)
+                                .and(BookingSpecifications.byState(BookingState.FUTURE, LocalDateTime.now())),
+                        BY_START)),
+                Arguments.of("IX_BOOKING_BOOKER_STATUS_START", (RepositoryCall) test ->
+                        test.bookingRepository.findAllViews(BookingSpecifications.byRole(BookingRole.BOOKER, 1L)
+                                .and(BookingSpecifications.byState(BookingState.WAITING, LocalDateTime.now())),
+                                BY_START)),
+                Arguments.of("IX_BOOKING_BOOKER_ITEM_STATUS", (RepositoryCall) test ->
+                        test.bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(1L, 1L,
+                                BookingStatus.APPROVED, LocalDateTime.now())),
+                Arguments.of("IX_BOOKING_ITEM_STATUS_END", (RepositoryCall) test ->
+                        test.bookingRepository.findLastBookingsByItemIds(List.of(1L, 2L, 3L),
+                                BookingStatus.APPROVED)),
+                Arguments.of("IX_BOOKING_ITEM_START", (RepositoryCall) test -> test.bookingRepository.findAllViews(
+                        BookingSpecifications.byRole(BookingRole.OWNER, 1L)
+                                .and(BookingSpecifications.byState(BookingState.FUTURE, LocalDateTime.now())),
+                        BY_START)),
+                Arguments.of("IX_ITEM_OWNER_ID", (RepositoryCall) test ->
+                        test.itemRepository.findAllByOwnerIdAndIdGreaterThan(1L, 10L,
+                                PageRequest.of(0, 20, Sort.by("id")))),
+                Arguments.of("IX_ITEM_REQUEST", (RepositoryCall) test ->
+                        test.itemRequestRepository.findItemViewsByRequestIdIn(List.of(1L, 2L, 3L))),
+                Arguments.of("IX_COMMENT_ITEM", (RepositoryCall) test ->
+                        test.commentRepository.findAllByItemIdInOrderById(List.of(1L, 2L, 3L))),
+                Arguments.of("IX_ITEM_REQUEST_REQUESTER_CREATED", (RepositoryCall) test ->
+                        test.itemRequestRepository.findViewsByRequestorId(1L, BY_CREATED)),
+                Arguments.of("IX_ITEM_REQUEST_CREATED", (RepositoryCall) test ->
+                        test.itemRequestRepository.findAllByRequestorIdNotAndCreatedBefore(1L,
+                                LocalDateTime.now(), 10L, BY_CREATED))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void testQueryUsesIndex(String index, RepositoryCall call) {
+        call.run(this);
+        List<CapturedStatements.Query> queries = capturedStatements.drain();
+
+        assertThat(queries).hasSize(1);
+
+        assertUsesIndex(queries.get(0), explain(queries.get(0)), index);
+    }
+
+    protected void assertUsesIndex(CapturedStatements.Query query, String plan, String index) {
+        assertThat(plan).as(query.toString())
+                .containsPattern(Pattern.compile("\\b" + index + "\\b", Pattern.CASE_INSENSITIVE));
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(SchemaIndexesTestBase test);
+    }
+}
@@ -5,13 +5,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exc.ValidationException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.trait.PageCursor;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
@@ -46,12 +50,14 @@ class ItemRequestControllerTest {
             .requestor(mockUserDto).created(LocalDateTime.now()).build();
     private final ItemRequest mockItemRequest = ItemRequest.builder().id(1L).description("ItemRequestDesk")
             .requestor(mockUser).created(LocalDateTime.now()).build();
+    private final ItemRequestWithItems mockItemRequestWithItems = new ItemRequestWithItems(
+            new SpelAwareProxyProjectionFactory().createProjection(ItemRequestView.class), List.of());
 
 
     @Test
     void testCreateItemRequest() throws Exception {
         when(itemRequestService.createItemRequest(any(Long.class), any())).thenReturn(mockItemRequest);
-        doReturn(mockItemRequestDto).when(itemRequestMapper).toItemRequestDto(any());
+        doReturn(mockItemRequestDto).when(itemRequestMapper).toItemRequestDto(any(ItemRequest.class));
 
         mockMvc.perform(post("/requests")
                         .content(objectMapper.writeValueAsString(mockItemRequestDto))
@@ -90,12 +96,15 @@ class ItemRequestControllerTest {
 
     @Test
     void testFindItemRequestsByUserId() throws Exception {
-        when(itemRequestService.findItemRequestsByUser(any(Long.class))).thenReturn(List.of(mockItemRequest));
-        doReturn(mockItemRequestDto).when(itemRequestMapper).toItemRequestDto(any());
+        when(itemRequestService.findItemRequestsByUser(1L, 0, 1)).thenReturn(List.of(mockItemRequestWithItems));
+        doReturn(mockItemRequestDto).when(itemRequestMapper).toItemRequestDto(mockItemRequestWithItems);
 
         mockMvc.perform(get("/requests")
-                        .header(HEADER_USER_ID, 1))
+                        .header(HEADER_USER_ID, 1)
+                        .queryParam("size", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.HEADER_NEXT_CURSOR,
+                        PageCursor.encode(mockItemRequestDto.getCreated(), mockItemRequestDto.getId())))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.[0].id", is(mockItemRequestDto.getId()), Long.class))
                 .andExpect(jsonPath("$.[0].description", is(mockItemRequestDto.getDescription())))
@@ -111,7 +120,7 @@ class ItemRequestControllerTest {
     void testFindAllItemRequest() throws Exception {
         when(itemRequestService.findAllItemRequest(any(Long.class), any(Integer.class), any(Integer.class)))
                 .thenReturn(List.of(mockItemRequest));
-        doReturn(mockItemRequestDto).when(itemRequestMapper).toItemRequestDto(any());
+        doReturn(mockItemRequestDto).when(itemRequestMapper).toItemRequestDto(any(ItemRequest.class));
 
         mockMvc.perform(get("/requests/all")
                         .header(HEADER_USER_ID, 1))
@@ -130,7 +139,7 @@ class ItemRequestControllerTest {
     @Test
     void testFindItemRequestById() throws Exception {
         when(itemRequestService.findItemRequestById(any(Long.class), any(Long.class))).thenReturn(mockItemRequest);
-        doReturn(mockItemRequestDto).when(itemRequestMapper).toItemRequestDto(any());
+        doReturn(mockItemRequestDto).when(itemRequestMapper).toItemRequestDto(any(ItemRequest.class));
 
         mockMvc.perform(get("/requests/1")
                         .header(HEADER_USER_ID, 1))
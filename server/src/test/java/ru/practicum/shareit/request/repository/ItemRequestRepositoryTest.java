@@ -7,12 +7,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestItemView;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,6 +32,8 @@ class ItemRequestRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
     private final User firstUser = User.builder().id(1L).name("FirstUser").email("FirstUser@host.com").build();
     private  final User secondUser = User.builder().id(2L).name("SecondUser").email("SecondUser@host.com").build();
     private final ItemRequest mockItemRequest1 = ItemRequest.builder().id(1L).description("ItemRequestDescription1")
@@ -35,16 +43,66 @@ class ItemRequestRepositoryTest {
 
 
     @Test
-    void testFindAllByRequestorIdOrderByCreatedDesc() {
+    void testFindViewsByRequestorId() {
         userRepository.save(firstUser);
         userRepository.save(secondUser);
         itemRequestRepository.save(mockItemRequest1);
         itemRequestRepository.save(mockItemRequest2);
+        ItemRequest mockItemRequest3 = itemRequestRepository.save(ItemRequest.builder()
+                .description("ItemRequestDescription3").requestor(firstUser).created(LocalDateTime.now()
+                        .plusDays(2)).build());
+        Pageable page = PageRequest.of(PAGE, 1, Sort.by(Sort.Direction.DESC, "created")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
 
-        Collection<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(1L);
+        List<ItemRequestView> itemRequests = itemRequestRepository.findViewsByRequestorId(1L, page);
 
-        assertThat(itemRequests).isNotEmpty();
-        assertThat(itemRequests).hasSize(1).contains(mockItemRequest1);
+        assertThat(itemRequests).hasSize(1);
+        assertThat(itemRequests.get(0).getId()).isEqualTo(mockItemRequest3.getId());
+        assertThat(itemRequests.get(0).getDescription()).isEqualTo("ItemRequestDescription3");
+        assertThat(itemRequests.get(0).getRequestorName()).isEqualTo(firstUser.getName());
+        assertThat(itemRequests.get(0).getRequestorEmail()).isEqualTo(firstUser.getEmail());
+
+        itemRequests = itemRequestRepository.findViewsByRequestorIdAndCreatedBefore(1L,
+                itemRequests.get(0).getCreated(), itemRequests.get(0).getId(), page);
+
+        assertThat(itemRequests).extracting(ItemRequestView::getId).containsExactly(mockItemRequest1.getId());
+    }
+
+    @Test
+    void testFindItemViewsByRequestIdIn() {
+        userRepository.save(firstUser);
+        userRepository.save(secondUser);
+        itemRequestRepository.save(mockItemRequest1);
+        itemRequestRepository.save(mockItemRequest2);
+        Item item = itemRepository.save(Item.builder().name("Item").description("ItemDescription").available(true)
+                .owner(secondUser).request(mockItemRequest1).build());
+
+        List<ItemRequestItemView> items = itemRequestRepository.findItemViewsByRequestIdIn(
+                List.of(mockItemRequest1.getId(), mockItemRequest2.getId()));
+
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).getId()).isEqualTo(item.getId());
+        assertThat(items.get(0).getName()).isEqualTo("Item");
+        assertThat(items.get(0).getAvailable()).isTrue();
+        assertThat(items.get(0).getRequestId()).isEqualTo(mockItemRequest1.getId());
+    }
+
+    @Test
+    void testFindAllByRequestorIdNotAndCreatedBefore() {
+        userRepository.save(firstUser);
+        userRepository.save(secondUser);
+        itemRequestRepository.save(mockItemRequest1);
+        itemRequestRepository.save(mockItemRequest2);
+        ItemRequest mockItemRequest3 = itemRequestRepository.save(ItemRequest.builder()
+                .description("ItemRequestDescription3").requestor(secondUser).created(LocalDateTime.now()).build());
+
+        Sort sortByCreated = Sort.by(Sort.Direction.DESC, "created").and(Sort.by(Sort.Direction.DESC, "id"));
+        Pageable page = PageRequest.of(PAGE, SIZE, sortByCreated);
+
+        Collection<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorIdNotAndCreatedBefore(1L,
+                mockItemRequest2.getCreated().truncatedTo(ChronoUnit.MICROS), mockItemRequest2.getId(), page);
+
+        assertThat(itemRequests).hasSize(1).contains(mockItemRequest3);
     }
 
     @Test
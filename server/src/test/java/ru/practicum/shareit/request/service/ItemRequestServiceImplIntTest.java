@@ -7,16 +7,29 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.StatementCounter;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCountAtMost;
 
 @SpringBootTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -24,6 +37,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class ItemRequestServiceImplIntTest {
     private final UserService userService;
     private final ItemRequestService itemRequestService;
+    private final ItemService itemService;
+    private final ItemRequestMapper itemRequestMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final StatementCounter statementCounter;
 
     private final User mockUser = User.builder().id(1L).name("FirstUser").email("FirstUser@host.com").build();
 
@@ -51,4 +68,59 @@ class ItemRequestServiceImplIntTest {
 
         assertEquals("No request for an item with id 1", exception.getMessage());
     }
+
+    @Test
+    void testFindAllItemRequest_QueryCountDoesNotGrowWithRequests() throws Exception {
+        userService.createUser(mockUser);
+        for (long userId = 2; userId <= 5; userId++) {
+            userService.createUser(User.builder().id(userId).name("User" + userId)
+                    .email("User" + userId + "@host.com").build());
+        }
+        for (long userId = 2; userId <= 5; userId++) {
+            ItemRequest itemRequest = itemRequestService.createItemRequest(userId, ItemRequest.builder()
+                    .description("ItemRequestDescription" + userId).build());
+            createItems(itemRequest, userId - 1, userId % 5 + 1);
+        }
+        entityManagerFactory.getCache().evictAll();
+
+        List<ItemRequestDto> itemRequests = assertQueryCountAtMost(statementCounter, 3, () ->
+                toDtos(itemRequestService.findAllItemRequest(mockUser.getId(), 0, 20)));
+
+        assertThat(itemRequests, hasSize(4));
+        assertThat(itemRequests, everyItem(hasProperty("items", hasSize(2))));
+    }
+
+    @Test
+    void testFindItemRequestsByUser_QueryCountDoesNotGrowWithRequests() throws Exception {
+        userService.createUser(mockUser);
+        for (long userId = 2; userId <= 4; userId++) {
+            userService.createUser(User.builder().id(userId).name("User" + userId)
+                    .email("User" + userId + "@host.com").build());
+            ItemRequest itemRequest = itemRequestService.createItemRequest(mockUser.getId(), ItemRequest.builder()
+                    .description("ItemRequestDescription" + userId).build());
+            createItems(itemRequest, userId);
+        }
+        entityManagerFactory.getCache().evictAll();
+
+        List<ItemRequestDto> itemRequests = assertQueryCountAtMost(statementCounter, 3, () ->
+                itemRequestService.findItemRequestsByUser(mockUser.getId(), 0, 20).stream()
+                        .map(itemRequestMapper::toItemRequestDto)
+                        .collect(Collectors.toList()));
+
+        assertThat(itemRequests, hasSize(3));
+        assertThat(itemRequests, everyItem(hasProperty("items", hasSize(1))));
+        assertThat(itemRequests, everyItem(hasProperty("requestor", hasProperty("name",
+                equalTo(mockUser.getName())))));
+    }
+
+    private void createItems(ItemRequest itemRequest, long... ownerIds) throws ValidationException {
+        for (long ownerId : ownerIds) {
+            itemService.createItem(ownerId, Item.builder().name("Item" + itemRequest.getId() + "-" + ownerId)
+                    .description("ItemDescription").available(true).request(itemRequest).build());
+        }
+    }
+
+    private List<ItemRequestDto> toDtos(Collection<ItemRequest> itemRequests) {
+        return itemRequests.stream().map(itemRequestMapper::toItemRequestDto).collect(Collectors.toList());
+    }
 }
@@ -9,20 +9,29 @@ import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.exc.InvalidParamException;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.exc.ValidationException;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestItemView;
+import ru.practicum.shareit.request.model.ItemRequestView;
+import ru.practicum.shareit.request.model.ItemRequestWithItems;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.trait.PageCursor;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -43,6 +52,8 @@ class ItemRequestServiceImplUnitTest {
 
     private MockitoSession mockitoSession;
 
+    private final ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
     @BeforeEach
     void setUp() {
         mockitoSession = Mockito.mockitoSession().initMocks(this).startMocking();
@@ -92,16 +103,38 @@ class ItemRequestServiceImplUnitTest {
 
     @Test
     void testFindItemRequestsByUser() throws ObjectNotFoundException {
-        Mockito.when(itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(anyLong()))
-                .thenReturn(List.of(mockItemRequest1, mockItemRequest3));
+        ItemRequestView itemRequest1 = projections.createProjection(ItemRequestView.class,
+                Map.of("id", 1L, "description", "ItemRequestDescription1"));
+        ItemRequestView itemRequest3 = projections.createProjection(ItemRequestView.class,
+                Map.of("id", 3L, "description", "ItemRequestDescription3"));
+        ItemRequestItemView item = projections.createProjection(ItemRequestItemView.class,
+                Map.of("id", 5L, "name", "Item", "requestId", 3L));
+        Mockito.when(itemRequestRepository.findViewsByRequestorId(1L, PageRequest.of(0, 20,
+                        Sort.by(Sort.Direction.DESC, "created").and(Sort.by(Sort.Direction.DESC, "id")))))
+                .thenReturn(List.of(itemRequest1, itemRequest3));
+        Mockito.when(itemRequestRepository.findItemViewsByRequestIdIn(List.of(1L, 3L))).thenReturn(List.of(item));
+
+        List<ItemRequestWithItems> itemRequests = itemRequestService.findItemRequestsByUser(1L, 0, 20);
 
-        Collection<ItemRequest> itemRequests = itemRequestService.findItemRequestsByUser(1L);
+        assertThat(itemRequests, hasSize(2));
+        assertThat(itemRequests.get(0).getRequest(), sameInstance(itemRequest1));
+        assertThat(itemRequests.get(0).getItems(), empty());
+        assertThat(itemRequests.get(1).getRequest(), sameInstance(itemRequest3));
+        assertThat(itemRequests.get(1).getItems(), equalTo(List.of(item)));
+    }
 
-        Mockito.verify(itemRequestRepository, Mockito.times(1))
-                .findAllByRequestorIdOrderByCreatedDesc(1L);
+    @Test
+    void testFindItemRequestsByUser_After() throws ValidationException {
+        Mockito.when(itemRequestRepository.findViewsByRequestorIdAndCreatedBefore(1L,
+                        mockItemRequest2.getCreated(), 2L, PageRequest.of(0, 20,
+                                Sort.by(Sort.Direction.DESC, "created").and(Sort.by(Sort.Direction.DESC, "id")))))
+                .thenReturn(List.of());
 
-        assertThat(itemRequests, hasSize(2));
-        assertThat(itemRequests, equalTo(List.of(mockItemRequest1, mockItemRequest3)));
+        List<ItemRequestWithItems> itemRequests = itemRequestService.findItemRequestsByUser(1L,
+                PageCursor.encode(mockItemRequest2.getCreated(), 2L), 20);
+
+        assertThat(itemRequests, empty());
+        Mockito.verify(itemRequestRepository, Mockito.never()).findItemViewsByRequestIdIn(Mockito.any());
     }
 
     @Test
@@ -114,18 +147,33 @@ class ItemRequestServiceImplUnitTest {
 
         Mockito.verify(itemRequestRepository, Mockito.times(1))
                 .findAllByRequestorIdNotOrderByCreatedDesc(anyLong(), Mockito.any(Pageable.class));
+        Mockito.verify(itemRequestRepository, Mockito.times(1))
+                .fetchItems(List.of(mockItemRequest1, mockItemRequest2, mockItemRequest3));
 
         assertThat(itemRequests, hasSize(3));
         assertThat(itemRequests, equalTo(List.of(mockItemRequest1, mockItemRequest2, mockItemRequest3)));
     }
 
+    @Test
+    void testFindAllItemRequest_After() throws ValidationException {
+        Mockito.when(itemRequestRepository.findAllByRequestorIdNotAndCreatedBefore(1L,
+                        mockItemRequest2.getCreated(), 2L, PageRequest.of(0, 20,
+                                Sort.by(Sort.Direction.DESC, "created").and(Sort.by(Sort.Direction.DESC, "id")))))
+                .thenReturn(List.of(mockItemRequest1));
+
+        Collection<ItemRequest> itemRequests = itemRequestService.findAllItemRequest(1L,
+                PageCursor.encode(mockItemRequest2.getCreated(), 2L), 20);
+
+        assertThat(itemRequests, equalTo(List.of(mockItemRequest1)));
+    }
+
     @Test
     void testFindItemRequestById() throws ObjectNotFoundException {
-        Mockito.when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(mockItemRequest1));
+        Mockito.when(itemRequestRepository.findWithItemsById(anyLong())).thenReturn(Optional.of(mockItemRequest1));
 
         ItemRequest itemRequests = itemRequestService.findItemRequestById(1L, 1L);
 
-        Mockito.verify(itemRequestRepository, Mockito.times(1)).findById(1L);
+        Mockito.verify(itemRequestRepository, Mockito.times(1)).findWithItemsById(1L);
 
         assertThat(itemRequests.getId(), equalTo(1L));
         assertThat(itemRequests.getDescription(), equalTo(mockItemRequest1.getDescription()));
@@ -134,7 +182,7 @@ class ItemRequestServiceImplUnitTest {
 
     @Test
     void testFindItemRequest_WrongId() {
-        Mockito.when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
+        Mockito.when(itemRequestRepository.findWithItemsById(anyLong())).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ObjectNotFoundException.class, () ->
                 itemRequestService.findItemRequestById(1L, 1L));
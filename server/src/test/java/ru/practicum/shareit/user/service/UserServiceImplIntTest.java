@@ -1,16 +1,22 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exc.ObjectNotFoundException;
 import ru.practicum.shareit.user.model.User;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -18,6 +24,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class UserServiceImplIntTest {
     private final UserService userService;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
     private final User mockUser = User.builder().id(1L).name("FirstUser").email("FirstUser@host.com").build();
 
 
@@ -37,4 +45,61 @@ class UserServiceImplIntTest {
         Exception exception = assertThrows(ObjectNotFoundException.class, () -> userService.findUserById(1L));
         assertEquals("User with id 1 does not exist", exception.getMessage());
     }
+
+    @Test
+    void testFindUserById_Cached() throws ObjectNotFoundException {
+        userService.createUser(mockUser);
+
+        userService.findUserById(1L);
+        userService.checkUserId(1L);
+        userService.findUserById(1L);
+        userService.checkUserId(1L);
+
+        assertEquals(1.0, cacheGets(CacheConfig.USERS, "hit"));
+        assertEquals(1.0, cacheGets(CacheConfig.USERS, "miss"));
+        assertEquals(1.0, cacheGets(CacheConfig.USER_IDS, "hit"));
+        assertEquals(1.0, cacheGets(CacheConfig.USER_IDS, "miss"));
+    }
+
+    @Test
+    void testUpdateUser_EvictsCachedUser() throws ObjectNotFoundException {
+        userService.createUser(mockUser);
+        userService.findUserById(1L);
+        assertNotNull(cacheManager.getCache(CacheConfig.USERS).get(1L));
+
+        userService.updateUser(1L, User.builder().name("UpdatedUser").build());
+
+        assertNull(cacheManager.getCache(CacheConfig.USERS).get(1L));
+        assertThat(userService.findUserById(1L).getName(), equalTo("UpdatedUser"));
+    }
+
+    @Test
+    void testUpdateUser_LeavesCachedUserUnchanged() throws ObjectNotFoundException {
+        userService.createUser(mockUser);
+        userService.createUser(User.builder().id(2L).name("SecondUser").email("SecondUser@host.com").build());
+        User cached = userService.findUserById(1L);
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.updateUser(1L,
+                User.builder().name("UpdatedUser").email("SecondUser@host.com").build()));
+
+        assertThat(cached.getName(), equalTo(mockUser.getName()));
+        assertThat(cached.getEmail(), equalTo(mockUser.getEmail()));
+        assertThat(userService.findUserById(1L).getEmail(), equalTo(mockUser.getEmail()));
+    }
+
+    @Test
+    void testDeleteUser_EvictsCachedUser() throws ObjectNotFoundException {
+        userService.createUser(mockUser);
+        userService.findUserById(1L);
+        userService.checkUserId(1L);
+
+        userService.deleteUser(1L);
+
+        assertThrows(ObjectNotFoundException.class, () -> userService.checkUserId(1L));
+        assertThrows(ObjectNotFoundException.class, () -> userService.findUserById(1L));
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
 }